@@ -0,0 +1,20 @@
+package com.learning.jpa.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/*
+배치 크기는 Post.comments, Post.tags의 @BatchSize를 따르고, IN 절을 나누는 방식만 바꿔가며 측정한다.
+ */
+@State(Scope.Benchmark)
+public class BatchFetchPostDataState extends PostDataState {
+
+    @Param({"LEGACY", "PADDED", "DYNAMIC"})
+    public String batchFetchStyle;
+
+    @Override
+    protected String[] properties() {
+        return new String[]{"spring.jpa.properties.hibernate.batch_fetch_style=" + batchFetchStyle};
+    }
+}
@@ -0,0 +1,80 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.CommentRepository;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+posts * commentsPerPost(기본 100k)개의 댓글을 로딩 후 변경 감지로 수정하는 방식과 벌크 update를 비교한다.
+매 호출 전에 JDBC로 댓글 내용을 되돌린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CommentBulkUpdateBenchmark {
+
+    private static final String KEYWORD = "comment";
+    private static final String REPLACEMENT = "[redacted]";
+
+    @Param({"20000"})
+    public int posts;
+
+    @Param({"5"})
+    public int commentsPerPost;
+
+    private JpaBenchmarkContext context;
+    private CommentRepository commentRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("bulkUpdate");
+        commentRepository = context.getBean(CommentRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        new PostDataSeeder(jdbcTemplate).seed(posts, commentsPerPost, 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetContent() {
+        jdbcTemplate.update("update comment set content = ?", KEYWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int loadModifyFlush() {
+        return context.inTransaction(() -> {
+            int redacted = 0;
+            for (Comment comment : commentRepository.findAll()) {
+                if (comment.getContent().contains(KEYWORD)) {
+                    comment.redact(REPLACEMENT);
+                    redacted++;
+                }
+            }
+            return redacted;
+        });
+    }
+
+    @Benchmark
+    public int bulkUpdate() {
+        return context.inTransaction(() -> commentRepository.redactContentContaining(KEYWORD, REPLACEMENT));
+    }
+}
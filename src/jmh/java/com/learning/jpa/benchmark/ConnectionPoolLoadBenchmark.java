@@ -0,0 +1,79 @@
+package com.learning.jpa.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+/*
+요청 스레드(64개)가 커넥션 풀보다 많을 때 Tomcat 실행 방식, 풀 크기, 게이트 사용 여부에 따른 GET /posts/{id} 처리량을 비교한다.
+요청은 내장 Tomcat을 거치므로 jpa.execution.mode의 실행기와 ConnectionGateFilter가 모두 적용된다.
+virtual은 @Param에 추가한 뒤 ./gradlew jmh -Pjava21 -PjmhIncludes=ConnectionPoolLoadBenchmark 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@Threads(64)
+public class ConnectionPoolLoadBenchmark {
+
+    static {
+        System.setProperty("http.maxConnections", "64");
+    }
+
+    @Param({"platform", "bounded"})
+    public String mode;
+
+    @Param({"5", "10", "20"})
+    public int poolSize;
+
+    @Param({"true", "false"})
+    public boolean gated;
+
+    @Param({"1000"})
+    public int posts;
+
+    private JpaBenchmarkContext context;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.startWeb("load" + mode + poolSize + gated,
+            "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+            "jpa.execution.mode=" + mode,
+            "jpa.execution.gate-enabled=" + gated);
+        new PostDataSeeder(context.getBean(JdbcTemplate.class)).seed(posts, 3, 1);
+        restTemplate = new RestTemplate();
+        baseUrl = "http://localhost:" + context.getLocalPort() + "/posts/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findPost(ResponseCounter counter) {
+        long id = ThreadLocalRandom.current().nextLong(1, posts + 1);
+        try {
+            return restTemplate.getForEntity(baseUrl + id, byte[].class).getStatusCodeValue();
+        } catch (HttpStatusCodeException e) {
+            counter.rejected++;
+            return e.getRawStatusCode();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseCounter {
+
+        public long rejected;
+    }
+}
@@ -0,0 +1,78 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.Comment;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+관리 중인 엔티티 managedEntities개 중 changedEntities개만 변경했을 때 flush 비용을 측정한다.
+./gradlew jmh -PjmhIncludes=FlushBenchmark
+./gradlew jmh -PjmhIncludes=FlushBenchmark -Penhance
+바이트코드 향상 없이는 스냅샷 비교로 관리 중인 엔티티 수에, 향상 시에는 변경된 엔티티 수에 비례한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class FlushBenchmark {
+
+    @Param({"50000"})
+    public int managedEntities;
+
+    @Param({"10"})
+    public int changedEntities;
+
+    private JpaBenchmarkContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("flush");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        new PostDataSeeder(context.getBean(JdbcTemplate.class)).seed(managedEntities / 10, 10, 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void loadAndChange() {
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Comment> comments = entityManager.createQuery("select c from Comment c", Comment.class)
+            .getResultList();
+        for (int i = 0; i < changedEntities; i++) {
+            comments.get(i).redact("changed " + System.nanoTime());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void rollback() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void flush() {
+        entityManager.flush();
+    }
+}
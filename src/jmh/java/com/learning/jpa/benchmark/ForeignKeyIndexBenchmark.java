@@ -0,0 +1,93 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostRepository;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+posts * commentsPerPost(기본 1M)개의 댓글에서 임의의 Post pageSize개의 comments를 배치 페치한다.
+./gradlew jmh -PjmhIncludes=ForeignKeyIndexBenchmark
+H2는 외래 키 제약 조건에 인덱스를 자동으로 만들기 때문에 indexed=false는 comment의 제약 조건과 인덱스를 모두 제거한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ForeignKeyIndexBenchmark {
+
+    @Param({"200000"})
+    public int posts;
+
+    @Param({"5"})
+    public int commentsPerPost;
+
+    @Param({"100"})
+    public int pageSize;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private JpaBenchmarkContext context;
+    private PostRepository postRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("fkIndex",
+            "spring.jpa.properties.hibernate.default_batch_fetch_size=" + pageSize);
+        postRepository = context.getBean(PostRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            dropCommentIndexes(jdbcTemplate);
+        }
+        new PostDataSeeder(jdbcTemplate).seed(posts, commentsPerPost, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int batchFetchComments() {
+        long cursor = ThreadLocalRandom.current().nextLong(posts - pageSize);
+        return context.inReadOnlyTransaction(() -> {
+            List<Long> ids = postRepository.findIdsAfter(cursor, PageRequest.of(0, pageSize));
+            int sum = 0;
+            for (Post post : postRepository.findAllById(ids)) {
+                for (Comment comment : post.getComments()) {
+                    sum += comment.getContent().length();
+                }
+            }
+            return sum;
+        });
+    }
+
+    private void dropCommentIndexes(JdbcTemplate jdbcTemplate) {
+        List<String> constraints = jdbcTemplate.queryForList(
+            "select constraint_name from information_schema.constraints "
+                + "where table_name = 'COMMENT' and constraint_type = 'REFERENTIAL'", String.class);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("alter table comment drop constraint " + constraint);
+        }
+        List<String> indexes = jdbcTemplate.queryForList(
+            "select distinct index_name from information_schema.indexes "
+                + "where table_name = 'COMMENT' and primary_key = false", String.class);
+        for (String index : indexes) {
+            jdbcTemplate.execute("drop index if exists " + index);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.JpaApplication;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class JpaBenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private JpaBenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /*
+    SpringApplicationBuilder.properties()는 application.properties보다 우선순위가 낮으므로 커맨드 라인 인자로 덮어쓴다.
+    덮어쓴 값이 실제로 적용되지 않으면 다른 설정으로 측정하지 않도록 시작을 실패시킨다.
+     */
+    public static JpaBenchmarkContext start(String database, String... properties) {
+        return start(WebApplicationType.NONE, database, properties);
+    }
+
+    /*
+    내장 Tomcat을 임의의 포트로 띄운다. 요청은 getLocalPort()로 보낸다.
+     */
+    public static JpaBenchmarkContext startWeb(String database, String... properties) {
+        List<String> args = new ArrayList<>(Arrays.asList(properties));
+        args.add("server.port=0");
+        return start(WebApplicationType.SERVLET, database, args.toArray(new String[0]));
+    }
+
+    private static JpaBenchmarkContext start(WebApplicationType type, String database, String... properties) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--jpa.slow-query.enabled=false",
+            "--logging.level.root=warn"
+        ));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpaApplication.class)
+            .web(type)
+            .run(args.toArray(new String[0]));
+        verifyOverrides(context, args);
+        return new JpaBenchmarkContext(context);
+    }
+
+    private static void verifyOverrides(ConfigurableApplicationContext context, List<String> args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = arg.substring(2, separator);
+            String expected = arg.substring(separator + 1);
+            String actual = context.getEnvironment().getProperty(key);
+            if (!expected.equals(actual)) {
+                context.close();
+                throw new IllegalStateException(
+                    "벤치마크 설정이 적용되지 않았습니다. " + key + "=" + actual + " (expected " + expected + ")");
+            }
+        }
+    }
+
+    public int getLocalPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public <T> T inTransaction(Supplier<T> supplier) {
+        return transactionTemplate.execute(status -> supplier.get());
+    }
+
+    public <T> T inReadOnlyTransaction(Supplier<T> supplier) {
+        return readOnlyTransactionTemplate.execute(status -> supplier.get());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.family.Child;
+import com.learning.jpa.domain.family.Parent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+children개의 영속화 전 Child를 가진 Parent에서 임의의 Child를 제거하고 다시 추가하는 비용을 측정한다.
+./gradlew jmh -PjmhIncludes=ParentChildrenBenchmark
+baseline은 이전 Child처럼 id 기반 equals, hashCode를 가진 객체를 ArrayList에 두어 변경 전 상태를 재현한다.
+영속화 전에는 id가 모두 null이라 서로 같은 객체로 취급되므로 List.remove가 엉뚱한 첫 원소를 지운다.
+list는 uuid 기반 equals에 ArrayList를 사용하여 컬렉션 변경만의 효과를, parent는 uuid 해시 기반 LinkedHashSet을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParentChildrenBenchmark {
+
+    @Param({"100000"})
+    public int children;
+
+    private Parent parent;
+    private List<Child> list;
+    private Child[] members;
+    private List<IdEqualsChild> baseline;
+    private IdEqualsChild[] baselineMembers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parent = new Parent("parent");
+        list = new ArrayList<>(children);
+        members = new Child[children];
+        baseline = new ArrayList<>(children);
+        baselineMembers = new IdEqualsChild[children];
+        for (int i = 0; i < children; i++) {
+            Child child = new Child("child" + i);
+            child.toParent(parent);
+            parent.add(child);
+            list.add(child);
+            members[i] = child;
+            IdEqualsChild baselineChild = new IdEqualsChild(null);
+            baseline.add(baselineChild);
+            baselineMembers[i] = baselineChild;
+        }
+    }
+
+    @Benchmark
+    public boolean baselineRemoveAndAdd() {
+        IdEqualsChild child = baselineMembers[ThreadLocalRandom.current().nextInt(children)];
+        boolean removed = baseline.remove(child);
+        baseline.add(child);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean listRemoveAndAdd() {
+        Child child = members[ThreadLocalRandom.current().nextInt(children)];
+        boolean removed = list.remove(child);
+        list.add(child);
+        return removed;
+    }
+
+    @Benchmark
+    public int parentRemoveAndAdd() {
+        Child child = members[ThreadLocalRandom.current().nextInt(children)];
+        parent.remove(child);
+        parent.add(child);
+        return parent.getChildren().size();
+    }
+
+    /*
+    uuid를 도입하기 전 Child의 equals, hashCode
+     */
+    private static class IdEqualsChild {
+
+        private final Long id;
+
+        IdEqualsChild(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            IdEqualsChild child = (IdEqualsChild) o;
+            return Objects.equals(id, child.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.learning.jpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+엔티티를 거치지 않고 JDBC 배치로 Post, Comment, Tag, Like 데이터를 적재한다.
+ */
+public class PostDataSeeder {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostDataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seed(int posts, int commentsPerPost, int tagsPerPost) {
+        List<Object[]> postRows = new ArrayList<>();
+        List<Object[]> likeRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        List<Object[]> tagRows = new ArrayList<>();
+
+        long commentId = 1;
+        long tagId = 1;
+        for (long postId = 1; postId <= posts; postId++) {
+            postRows.add(new Object[]{postId, "post " + postId, commentsPerPost, tagsPerPost});
+            for (int i = 0; i < commentsPerPost; i++, commentId++) {
+                likeRows.add(new Object[]{commentId});
+                commentRows.add(new Object[]{commentId, "comment " + commentId, postId, commentId});
+            }
+            for (int i = 0; i < tagsPerPost; i++, tagId++) {
+                tagRows.add(new Object[]{tagId, "tag " + tagId, postId});
+            }
+            if (postRows.size() >= CHUNK_SIZE) {
+                flush(postRows, likeRows, commentRows, tagRows);
+            }
+        }
+        flush(postRows, likeRows, commentRows, tagRows);
+    }
+
+    private void flush(List<Object[]> postRows, List<Object[]> likeRows, List<Object[]> commentRows,
+        List<Object[]> tagRows) {
+        jdbcTemplate.batchUpdate("insert into post (id, content, version, comment_count, tag_count) values (?, ?, 0, ?, ?)", postRows);
+        jdbcTemplate.batchUpdate("insert into likes (id) values (?)", likeRows);
+        jdbcTemplate.batchUpdate("insert into comment (id, content, post_id, like_id) values (?, ?, ?, ?)", commentRows);
+        jdbcTemplate.batchUpdate("insert into tag (id, name, post_id) values (?, ?, ?)", tagRows);
+        postRows.clear();
+        likeRows.clear();
+        commentRows.clear();
+        tagRows.clear();
+    }
+}
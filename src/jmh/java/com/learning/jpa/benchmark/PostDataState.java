@@ -0,0 +1,42 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.PostRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Benchmark)
+public class PostDataState {
+
+    @Param({"10000"})
+    public int posts;
+
+    @Param({"5"})
+    public int commentsPerPost;
+
+    @Param({"3"})
+    public int tagsPerPost;
+
+    JpaBenchmarkContext context;
+    PostRepository postRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start(getClass().getSimpleName(), properties());
+        postRepository = context.getBean(PostRepository.class);
+        new PostDataSeeder(context.getBean(JdbcTemplate.class)).seed(posts, commentsPerPost, tagsPerPost);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    protected String[] properties() {
+        return new String[0];
+    }
+}
@@ -0,0 +1,116 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.PostDetail;
+import com.learning.jpa.domain.post.PostDetailService;
+import com.learning.jpa.domain.post.PostRepository;
+import com.learning.jpa.domain.post.PostSummary;
+import com.learning.jpa.domain.post.PostTagName;
+import com.learning.jpa.execution.JdbcExecutor;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+Post 요약, 최근 댓글, 태그로 구성된 상세 응답을 순차 블로킹 호출과 JdbcExecutor 동시 호출로 만드는 지연 시간을 비교한다.
+./gradlew jmh -PjmhIncludes=PostDetailLatencyBenchmark
+queryDelayMillis는 조회마다 H2에서 Thread.sleep을 호출하여 원격 DB의 왕복 지연을 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class PostDetailLatencyBenchmark {
+
+    private static final int POSTS = 10000;
+
+    @Param({"0", "2"})
+    public int queryDelayMillis;
+
+    private JpaBenchmarkContext context;
+    private PostRepository postRepository;
+    private PostDetailService postDetailService;
+    private JdbcExecutor jdbcExecutor;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("postDetail", "spring.datasource.hikari.maximum-pool-size=24");
+        postRepository = context.getBean(PostRepository.class);
+        postDetailService = context.getBean(PostDetailService.class);
+        jdbcExecutor = context.getBean(JdbcExecutor.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("create alias if not exists sleep for \"java.lang.Thread.sleep\"");
+        new PostDataSeeder(jdbcTemplate).seed(POSTS, 20, 3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<PostDetail> sequential() {
+        Long postId = randomPostId();
+        Optional<PostSummary> summary = summary(postId).get();
+        List<String> comments = comments(postId).get();
+        List<String> tagNames = tagNames(postId).get();
+        return summary.map(found -> new PostDetail(found, comments, tagNames));
+    }
+
+    @Benchmark
+    public Optional<PostDetail> fannedOut() {
+        Long postId = randomPostId();
+        CompletableFuture<Optional<PostSummary>> summary = jdbcExecutor.supplyAsync(summary(postId));
+        CompletableFuture<List<String>> comments = jdbcExecutor.supplyAsync(comments(postId));
+        CompletableFuture<List<String>> tagNames = jdbcExecutor.supplyAsync(tagNames(postId));
+        return summary.join().map(found -> new PostDetail(found, comments.join(), tagNames.join()));
+    }
+
+    @Benchmark
+    public Optional<PostDetail> postDetailService() {
+        return postDetailService.findDetail(randomPostId()).join();
+    }
+
+    private Supplier<Optional<PostSummary>> summary(Long postId) {
+        return () -> delayed(postRepository.findSummaryById(postId));
+    }
+
+    private Supplier<List<String>> comments(Long postId) {
+        return () -> delayed(postRepository.findRecentCommentContents(postId, PageRequest.of(0, 10)));
+    }
+
+    private Supplier<List<String>> tagNames(Long postId) {
+        return () -> delayed(postRepository.findTagNamesByPostIdIn(Collections.singletonList(postId)).stream()
+            .map(PostTagName::getName)
+            .collect(Collectors.toList()));
+    }
+
+    private <T> T delayed(T result) {
+        if (queryDelayMillis > 0) {
+            jdbcTemplate.execute("call sleep(" + queryDelayMillis + ")");
+        }
+        return result;
+    }
+
+    private Long randomPostId() {
+        return ThreadLocalRandom.current().nextLong(1, POSTS + 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.Tag;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/*
+./gradlew jmh -PjmhIncludes=PostFetchStrategyBenchmark
+데이터 규모(10k ~ 1M posts)는 PostDataState의 @Param 값으로 조정한다.
+ */
+public class PostFetchStrategyBenchmark {
+
+    @Benchmark
+    public int findAllWithLazyTraversal(PostDataState data) {
+        return data.context.inReadOnlyTransaction(() -> traverseComments(data.postRepository.findAll()));
+    }
+
+    @Benchmark
+    public int findAllInnerFetchJoin(PostDataState data) {
+        return data.context.inReadOnlyTransaction(() -> traverseComments(data.postRepository.findAllInnerFetchJoin()));
+    }
+
+    @Benchmark
+    public int findAllInnerFetchJoinWithDistinct(PostDataState data) {
+        return data.context.inReadOnlyTransaction(
+            () -> traverseComments(data.postRepository.findAllInnerFetchJoinWithDistinct()));
+    }
+
+    @Benchmark
+    public int findAllOuterFetchJoin(PostDataState data) {
+        return data.context.inReadOnlyTransaction(() -> traverseComments(data.postRepository.findAllOuterFetchJoin()));
+    }
+
+    @Benchmark
+    public int findAllEntityGraph(PostDataState data) {
+        return data.context.inReadOnlyTransaction(() -> traverseComments(data.postRepository.findAllEntityGraph()));
+    }
+
+    @Benchmark
+    public int findAllEntityGraphWithSubGraph(PostDataState data) {
+        return data.context.inReadOnlyTransaction(
+            () -> traverseCommentsWithLike(data.postRepository.findAllEntityGraphWithSubGraph()));
+    }
+
+    @Benchmark
+    public int findAllWithBatchSize(BatchFetchPostDataState data) {
+        return data.context.inReadOnlyTransaction(
+            () -> traverseCommentsAndTags(data.postRepository.findAllWithBatchSize()));
+    }
+
+    private static int traverseComments(List<Post> posts) {
+        int sum = 0;
+        for (Post post : posts) {
+            for (Comment comment : post.getComments()) {
+                sum += comment.getContent().length();
+            }
+        }
+        return sum;
+    }
+
+    private static int traverseCommentsWithLike(List<Post> posts) {
+        int sum = 0;
+        for (Post post : posts) {
+            for (Comment comment : post.getComments()) {
+                sum += comment.getLike() == null ? 0 : 1;
+            }
+        }
+        return sum;
+    }
+
+    private static int traverseCommentsAndTags(List<Post> posts) {
+        int sum = traverseComments(posts);
+        for (Post post : posts) {
+            for (Tag tag : post.getTags()) {
+                sum += tag.getName().length();
+            }
+        }
+        return sum;
+    }
+}
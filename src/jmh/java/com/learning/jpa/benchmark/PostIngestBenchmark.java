@@ -0,0 +1,79 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostIngestService;
+import com.learning.jpa.domain.post.Tag;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+batchSize=0은 JDBC 배치를 끈 상태로 Post, Comment, Tag 마다 insert 한 번씩 왕복한다.
+preparedStatements 보조 카운터로 batchSize별 JDBC 왕복 횟수를 비교한다.
+ */
+@State(Scope.Benchmark)
+public class PostIngestBenchmark {
+
+    @Param({"0", "100"})
+    public int batchSize;
+
+    @Param({"100"})
+    public int posts;
+
+    @Param({"100"})
+    public int commentsPerPost;
+
+    private JpaBenchmarkContext context;
+    private PostIngestService postIngestService;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("ingest" + batchSize,
+            "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+            "spring.jpa.properties.hibernate.generate_statistics=true");
+        postIngestService = context.getBean(PostIngestService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int ingest(StatementCounter counter) {
+        List<Post> batch = new ArrayList<>();
+        for (int i = 0; i < posts; i++) {
+            Post post = new Post("post " + i);
+            for (int j = 0; j < commentsPerPost; j++) {
+                post.addComment(new Comment("comment " + j));
+            }
+            post.addTag(new Tag("tag " + i));
+            batch.add(post);
+        }
+
+        long before = statistics.getPrepareStatementCount();
+        int ingested = postIngestService.ingest(batch);
+        counter.preparedStatements += statistics.getPrepareStatementCount() - before;
+        return ingested;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounter {
+
+        public long preparedStatements;
+    }
+}
@@ -0,0 +1,40 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostSummary;
+import com.learning.jpa.domain.post.Tag;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.springframework.data.domain.PageRequest;
+
+/*
+목록 화면 한 페이지를 엔티티 그래프와 DTO 프로젝션으로 만드는 비용을 비교한다.
+두 방식 모두 3개 이하의 쿼리를 사용하도록 tags는 배치 페치로 초기화한다.
+findAllEntityGraph는 comments 조인으로 Post가 중복되므로 중복을 제거한 뒤 변환한다.
+gc 프로파일러의 gc.alloc.rate.norm 값으로 연산당 힙 할당량을 비교한다.
+ */
+public class PostProjectionBenchmark {
+
+    @Benchmark
+    public List<PostSummary> entityGraph(BatchFetchPostDataState data) {
+        return data.context.inReadOnlyTransaction(() -> {
+            List<PostSummary> summaries = new ArrayList<>();
+            for (Post post : new LinkedHashSet<>(data.postRepository.findAllEntityGraph())) {
+                List<String> tagNames = new ArrayList<>();
+                for (Tag tag : post.getTags()) {
+                    tagNames.add(tag.getName());
+                }
+                summaries.add(new PostSummary(post.getId(), post.getContent(), post.getComments().size(), tagNames));
+            }
+            return summaries;
+        });
+    }
+
+    @Benchmark
+    public List<PostSummary> projection(BatchFetchPostDataState data) {
+        return data.context.inReadOnlyTransaction(
+            () -> data.postRepository.findSummariesWithTagNames(PageRequest.of(0, data.posts)));
+    }
+}
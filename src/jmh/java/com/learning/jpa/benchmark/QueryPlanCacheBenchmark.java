@@ -0,0 +1,79 @@
+package com.learning.jpa.benchmark;
+
+import com.learning.jpa.domain.post.PostRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+작은 쿼리의 호출당 오버헤드를 쿼리 계획 캐시, IN 절 패딩, H2 PreparedStatement 캐시 설정별로 측정한다.
+./gradlew jmh -PjmhIncludes=QueryPlanCacheBenchmark
+untuned는 계획 캐시를 2개로 제한하고 IN 절 패딩과 H2 쿼리 캐시를 끈다.
+mixed는 1 ~ 64개의 id로 IN 절 변형을 섞어 계획 캐시를 밀어낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryPlanCacheBenchmark {
+
+    private static final int POSTS = 1000;
+
+    @Param({"untuned", "tuned"})
+    public String mode;
+
+    private JpaBenchmarkContext context;
+    private PostRepository postRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("planCache", properties());
+        postRepository = context.getBean(PostRepository.class);
+        new PostDataSeeder(context.getBean(JdbcTemplate.class)).seed(POSTS, 3, 0);
+    }
+
+    private String[] properties() {
+        boolean tuned = "tuned".equals(mode);
+        return new String[]{
+            "spring.datasource.url=jdbc:h2:mem:planCache;MODE=MySQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=" + (tuned ? 64 : 0),
+            "spring.jpa.properties.hibernate.query.plan_cache_max_size=" + (tuned ? 2048 : 2),
+            "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=" + tuned
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean findByIdWithInnerJoin() {
+        long id = ThreadLocalRandom.current().nextLong(1, POSTS + 1);
+        return context.inReadOnlyTransaction(() -> postRepository.findByIdWithInnerJoin(id).isPresent());
+    }
+
+    @Benchmark
+    public int mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(1, POSTS + 1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = random.nextInt(1, 65); i > 0; i--) {
+            ids.add(random.nextLong(1, POSTS + 1));
+        }
+        return context.inReadOnlyTransaction(() -> {
+            postRepository.findByIdWithInnerJoin(id);
+            return postRepository.findAllWithCommentsByIdIn(ids).size();
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.learning.jpa.cache;
+
+import java.lang.reflect.Method;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+@Modifying 쿼리와 ...InBatch 메서드는 어떤 Post가 바뀌었는지 알 수 없으므로 커밋 이후 캐시 전체를 무효화한다.
+진행 중인 트랜잭션이 없으면 Repository 트랜잭션이 이미 커밋된 뒤이므로 바로 무효화한다.
+REQUIRES_NEW로 시작한 안쪽 트랜잭션은 자신의 동기화 목록을 가지므로 안쪽 커밋 직후에 무효화된다.
+ */
+public class PostSnapshotBulkInvalidationInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<PostSnapshotCache> postSnapshotCache;
+
+    public PostSnapshotBulkInvalidationInterceptor(ObjectProvider<PostSnapshotCache> postSnapshotCache) {
+        this.postSnapshotCache = postSnapshotCache;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (isBulk(invocation.getMethod())) {
+            invalidateAfterCommit();
+        }
+        return result;
+    }
+
+    private boolean isBulk(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Modifying.class) || method.getName().endsWith("InBatch");
+    }
+
+    private void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            postSnapshotCache.getObject().invalidateAll();
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Invalidation) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new Invalidation());
+    }
+
+    private class Invalidation implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            postSnapshotCache.getObject().invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.learning.jpa.cache;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.Tag;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/*
+PostSnapshot에 담기는 Post, Comment, Tag의 Repository에만 벌크 연산 무효화를 추가한다.
+ */
+public class PostSnapshotBulkInvalidationPostProcessor implements BeanPostProcessor {
+
+    private static final List<Class<?>> SNAPSHOT_TYPES = Arrays.asList(Post.class, Comment.class, Tag.class);
+
+    private final ObjectProvider<PostSnapshotCache> postSnapshotCache;
+
+    public PostSnapshotBulkInvalidationPostProcessor(ObjectProvider<PostSnapshotCache> postSnapshotCache) {
+        this.postSnapshotCache = postSnapshotCache;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+                    if (SNAPSHOT_TYPES.contains(repositoryInformation.getDomainType())) {
+                        proxyFactory.addAdvice(0, new PostSnapshotBulkInvalidationInterceptor(postSnapshotCache));
+                    }
+                }));
+        }
+        return bean;
+    }
+}
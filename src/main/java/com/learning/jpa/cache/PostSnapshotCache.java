@@ -0,0 +1,77 @@
+package com.learning.jpa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.learning.jpa.domain.post.PostRepository;
+import com.learning.jpa.domain.post.PostSnapshot;
+import com.learning.jpa.domain.post.PostVersion;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+PostController의 상세 조회 앞에 두는 애플리케이션 레벨 캐시로, 커밋 이후 변경된 Post만 무효화한다.
+로딩 중인 키를 무효화하면 Caffeine이 로딩이 끝날 때까지 기다린 뒤 제거하므로, 커밋 전에 읽은 값이 무효화 이후까지 남지 않는다.
+호출한 트랜잭션의 커밋되지 않은 변경을 캐시하지 않도록 별도 트랜잭션에서 로딩한다.
+벌크 연산은 엔티티 이벤트를 발생시키지 않으므로 PostSnapshotBulkInvalidationInterceptor가 커밋 이후 전체를 무효화한다.
+ */
+public class PostSnapshotCache {
+
+    private final Cache<Long, PostSnapshot> cache;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public PostSnapshotCache(
+        PostRepository postRepository,
+        PlatformTransactionManager transactionManager,
+        long maximumSize,
+        Duration expireAfterWrite
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        this.postRepository = postRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Optional<PostSnapshot> findById(Long id) {
+        return Optional.ofNullable(cache.get(id, this::load));
+    }
+
+    /*
+    캐시된 스냅샷이 먼저 조회한 version, revision보다 오래되었으면 커밋 이후 무효화가 아직 실행되지 않은 것이므로 다시 읽는다.
+     */
+    public Optional<PostSnapshot> findById(Long id, PostVersion current) {
+        PostSnapshot snapshot = cache.get(id, this::load);
+        if (snapshot != null && snapshot.isOlderThan(current)) {
+            cache.invalidate(id);
+            snapshot = cache.get(id, this::load);
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    public void invalidate(Collection<Long> postIds) {
+        cache.invalidateAll(postIds);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    Cache<Long, PostSnapshot> getCache() {
+        return cache;
+    }
+
+    private PostSnapshot load(Long id) {
+        return readOnlyTransactionTemplate.execute(status -> postRepository.findByIdWithComments(id)
+            .map(PostSnapshot::from)
+            .orElse(null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.learning.jpa.cache;
+
+import com.learning.jpa.domain.post.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class PostSnapshotCacheConfiguration {
+
+    @Bean
+    public static PostSnapshotBulkInvalidationPostProcessor postSnapshotBulkInvalidationPostProcessor(
+        ObjectProvider<PostSnapshotCache> postSnapshotCache
+    ) {
+        return new PostSnapshotBulkInvalidationPostProcessor(postSnapshotCache);
+    }
+
+    @Bean
+    public PostSnapshotCache postSnapshotCache(
+        PostRepository postRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${jpa.post-snapshot-cache.maximum-size:10000}") long maximumSize,
+        @Value("${jpa.post-snapshot-cache.expire-after-write:10m}") Duration expireAfterWrite
+    ) {
+        return new PostSnapshotCache(postRepository, transactionManager, maximumSize, expireAfterWrite);
+    }
+
+    /*
+    SessionFactory와 MeterRegistry가 모두 만들어진 뒤에 무효화 리스너와 메트릭을 등록한다.
+     */
+    @Bean
+    public SmartInitializingSingleton postSnapshotCacheRegistrar(
+        PostSnapshotCache postSnapshotCache,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return () -> {
+            entityManagerFactory.ifAvailable(factory -> {
+                PostSnapshotInvalidationListener listener = new PostSnapshotInvalidationListener(postSnapshotCache);
+                EventListenerRegistry registry = factory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_INSERT, listener);
+                registry.appendListeners(EventType.POST_UPDATE, listener);
+                registry.appendListeners(EventType.POST_DELETE, listener);
+            });
+            meterRegistry.ifAvailable(registry -> {
+                CaffeineCacheMetrics.monitor(registry, postSnapshotCache.getCache(), "postSnapshots");
+                Gauge.builder("cache.hit.ratio", postSnapshotCache, cache -> cache.getCache().stats().hitRate())
+                    .tag("cache", "postSnapshots")
+                    .register(registry);
+            });
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.learning.jpa.cache;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.Tag;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+Post, Comment, Tag가 변경되면 해당 Post id를 모아 두었다가 커밋 이후에 PostSnapshotCache에서 무효화한다.
+롤백되면 캐시를 건드리지 않는다.
+id는 트랜잭션마다 등록한 Invalidation에 모은다. REQUIRES_NEW는 바깥 트랜잭션의 동기화 목록을 일시 중단하므로
+안쪽 트랜잭션의 변경은 안쪽 커밋 직후에 무효화된다.
+ */
+public class PostSnapshotInvalidationListener
+    implements PostInsertEventListener, PostDeleteEventListener, PostUpdateEventListener {
+
+    private final PostSnapshotCache postSnapshotCache;
+
+    public PostSnapshotInvalidationListener(PostSnapshotCache postSnapshotCache) {
+        this.postSnapshotCache = postSnapshotCache;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidateAfterCommit(event.getSession(), postIdOf(event.getEntity()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidateAfterCommit(event.getSession(), postIdOf(event.getEntity()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        invalidateAfterCommit(event.getSession(), postIdOf(entity));
+        if ((entity instanceof Comment || entity instanceof Tag) && event.getOldState() != null) {
+            int postIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("post");
+            invalidateAfterCommit(event.getSession(), idOf(event.getOldState()[postIndex]));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void invalidateAfterCommit(EventSource session, Long postId) {
+        if (postId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            session.getActionQueue().registerProcess((success, ignored) -> {
+                if (success) {
+                    postSnapshotCache.invalidate(Collections.singleton(postId));
+                }
+            });
+            return;
+        }
+        Invalidation invalidation = currentInvalidation();
+        if (invalidation == null) {
+            invalidation = new Invalidation();
+            TransactionSynchronizationManager.registerSynchronization(invalidation);
+        }
+        invalidation.postIds.add(postId);
+    }
+
+    private Invalidation currentInvalidation() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Invalidation) {
+                return (Invalidation) synchronization;
+            }
+        }
+        return null;
+    }
+
+    private Long postIdOf(Object entity) {
+        if (entity instanceof Post) {
+            return ((Post) entity).getId();
+        }
+        if (entity instanceof Comment) {
+            return idOf(((Comment) entity).getPost());
+        }
+        if (entity instanceof Tag) {
+            return idOf(((Tag) entity).getPost());
+        }
+        return null;
+    }
+
+    private Long idOf(Object post) {
+        if (post instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) post).getHibernateLazyInitializer().getIdentifier();
+        }
+        return post == null ? null : ((Post) post).getId();
+    }
+
+    private class Invalidation implements TransactionSynchronization {
+
+        private final Set<Long> postIds = new HashSet<>();
+
+        @Override
+        public void afterCommit() {
+            postSnapshotCache.invalidate(postIds);
+        }
+    }
+}
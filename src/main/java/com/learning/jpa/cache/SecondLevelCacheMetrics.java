@@ -0,0 +1,33 @@
+package com.learning.jpa.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/*
+region은 SessionFactory 생성 시점에 만들어지므로 모든 싱글톤 초기화 이후에 메트릭을 등록한다.
+ */
+public class SecondLevelCacheMetrics implements SmartInitializingSingleton {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SecondLevelCacheMetrics(CacheManager cacheManager, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry.ifAvailable(registry -> {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+                JCacheMetrics.monitor(registry, cache, Tags.of("cacheManager", "hibernate"));
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.learning.jpa.concurrency;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import javax.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/*
+낙관적 락 충돌 시 지수 백오프(full jitter) 후 재시도한다.
+재시도마다 새로운 트랜잭션에서 다시 읽어야 하므로 트랜잭션 바깥에서 호출한다.
+ */
+@Component
+public class OptimisticLockRetryExecutor {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetryExecutor(
+        @Value("${jpa.retry.max-attempts:10}") int maxAttempts,
+        @Value("${jpa.retry.initial-backoff-millis:5}") long initialBackoffMillis,
+        @Value("${jpa.retry.max-backoff-millis:200}") long maxBackoffMillis
+    ) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+}
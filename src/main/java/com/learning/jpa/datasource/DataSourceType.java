@@ -0,0 +1,6 @@
+package com.learning.jpa.datasource;
+
+public enum DataSourceType {
+    PRIMARY,
+    REPLICA
+}
@@ -1,11 +1,28 @@
 package com.learning.jpa.domain.article;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.List;
+import java.util.Optional;
+import javax.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("select a from Article a join fetch a.category join fetch a.subject join fetch a.writer")
     List<Article> findAllWithFetchJoin();
+
+    @EntityGraph(attributePaths = {"category", "subject", "writer"})
+    Optional<Article> findWithAssociationsById(Long id);
+
+    @EntityGraph(attributePaths = {"category", "writer"})
+    List<Article> findAllWithAssociationsBySubjectId(Long subjectId);
+
+    @Query("select a.version from Article a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
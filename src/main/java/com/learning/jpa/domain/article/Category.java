@@ -1,11 +1,18 @@
 package com.learning.jpa.domain.article;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 100)
 public class Category {
 
     @Id
@@ -15,6 +22,10 @@ public class Category {
     protected Category() {
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public void hi() {
         System.out.println("hi");
     }
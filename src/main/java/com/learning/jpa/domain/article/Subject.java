@@ -2,21 +2,29 @@ package com.learning.jpa.domain.article;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 100)
 public class Subject {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToMany(mappedBy = "subject", fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "subject", fetch = FetchType.LAZY)
     private List<Article> articles = new ArrayList<>();
 
     protected Subject() {
@@ -29,4 +37,8 @@ public class Subject {
     public Long getId() {
         return id;
     }
+
+    public List<Article> getArticles() {
+        return articles;
+    }
 }
@@ -1,7 +1,11 @@
 package com.learning.jpa.domain.article;
 
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
+    @EntityGraph(attributePaths = "articles")
+    Optional<Subject> findWithArticlesById(Long id);
 }
@@ -1,21 +1,32 @@
 package com.learning.jpa.domain.family;
 
 import java.util.Objects;
+import java.util.UUID;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_child_parent_id", columnList = "parent_id"))
 public class Child {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /*
+    생성 시점에 부여하는 식별자로, id가 없는 영속화 전 객체도 서로 구분되고 해시 버킷에 고르게 분산된다.
+     */
+    @Column(nullable = false, unique = true, updatable = false, length = 36)
+    private String uuid;
+
     private String name;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,10 +37,12 @@ public class Child {
     }
 
     public Child(String name) {
+        this.uuid = UUID.randomUUID().toString();
         this.name = name;
     }
 
     public Child(Long id, String name, Parent parent) {
+        this.uuid = UUID.randomUUID().toString();
         this.id = id;
         this.name = name;
         this.parent = parent;
@@ -39,6 +52,10 @@ public class Child {
         return id;
     }
 
+    public String getUuid() {
+        return uuid;
+    }
+
     public Parent getParent() {
         return parent;
     }
@@ -52,15 +69,15 @@ public class Child {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof Child)) {
             return false;
         }
         Child child = (Child) o;
-        return Objects.equals(getId(), child.getId());
+        return Objects.equals(getUuid(), child.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId());
+        return Objects.hashCode(getUuid());
     }
 }
@@ -1,31 +1,40 @@
 package com.learning.jpa.domain.family;
 
 import java.util.Objects;
+import java.util.UUID;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_orphan_parent_id", columnList = "parent_id"))
 public class Orphan {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false, unique = true, updatable = false, length = 36)
+    private String uuid;
+
     private String name;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Parent parent;
 
-    public Orphan() {
+    protected Orphan() {
     }
 
     public Orphan(String name, Parent parent) {
+        this.uuid = UUID.randomUUID().toString();
         this.name = name;
         this.parent = parent;
     }
@@ -34,6 +43,10 @@ public class Orphan {
         return id;
     }
 
+    public String getUuid() {
+        return uuid;
+    }
+
     public Parent getParent() {
         return parent;
     }
@@ -47,15 +60,15 @@ public class Orphan {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof Orphan)) {
             return false;
         }
         Orphan orphan = (Orphan) o;
-        return Objects.equals(getId(), orphan.getId());
+        return Objects.equals(getUuid(), orphan.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId());
+        return Objects.hashCode(getUuid());
     }
 }
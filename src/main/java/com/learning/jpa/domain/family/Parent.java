@@ -1,7 +1,7 @@
 package com.learning.jpa.domain.family;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -9,6 +9,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 public class Parent {
@@ -19,11 +20,16 @@ public class Parent {
 
     private String name;
 
+    /*
+    uuid 기반 equals, hashCode로 add, remove가 상수 시간에 동작하고 추가한 순서를 유지한다.
+    Set은 중복 확인을 위해 add 시 지연 로딩된 컬렉션을 초기화하므로, 대량 삭제는 ParentRepository의 벌크 연산을 사용한다.
+     */
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "parent", fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.REMOVE})
-    private List<Child> children = new ArrayList<>();
+    private Set<Child> children = new LinkedHashSet<>();
 
     @OneToMany(mappedBy = "parent", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST, orphanRemoval = true)
-    private List<Orphan> orphans = new ArrayList<>();
+    private Set<Orphan> orphans = new LinkedHashSet<>();
 
     protected Parent() {
     }
@@ -52,11 +58,11 @@ public class Parent {
         return id;
     }
 
-    public List<Child> getChildren() {
+    public Set<Child> getChildren() {
         return children;
     }
 
-    public List<Orphan> getOrphans() {
+    public Set<Orphan> getOrphans() {
         return orphans;
     }
 }
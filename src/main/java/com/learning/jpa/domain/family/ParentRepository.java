@@ -1,7 +1,33 @@
 package com.learning.jpa.domain.family;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ParentRepository extends JpaRepository<Parent, Long> {
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Child c where c.parent.id = :parentId")
+    int deleteChildrenByParentId(@Param("parentId") Long parentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Orphan o where o.parent.id = :parentId")
+    int deleteOrphansByParentId(@Param("parentId") Long parentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Parent p where p.id = :id")
+    int deleteParentById(@Param("id") Long id);
+
+    /*
+    Cascade Remove와 orphanRemoval은 자식을 모두 로딩한 뒤 한 건씩 delete 하므로
+    벌크 쿼리로 자식, 고아 객체, 부모 순서로 삭제하고 영속성 컨텍스트를 비운다.
+     */
+    @Transactional
+    default void deleteWithChildrenById(Long id) {
+        deleteChildrenByParentId(id);
+        deleteOrphansByParentId(id);
+        deleteParentById(id);
+    }
 }
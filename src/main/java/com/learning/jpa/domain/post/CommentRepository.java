@@ -0,0 +1,53 @@
+package com.learning.jpa.domain.post;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+벌크 연산은 영속성 컨텍스트를 거치지 않으므로 실행 전 flush, 실행 후 clear 한다.
+Comment와 Post는 2차 캐시 대상이 아니므로 벌크 연산으로 무효화되는 2차 캐시 region은 없다.
+ */
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Comment c set c.post = :to where c.post = :from")
+    int moveCommentRows(@Param("from") Post from, @Param("to") Post to);
+
+    @Modifying
+    @Query(value = "update post set comment_count = comment_count + :delta, revision = revision + 1 where id = :postId",
+        nativeQuery = true)
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    /*
+    벌크 연산은 PostCounterListener를 거치지 않으므로 옮긴 개수만큼 두 Post의 카운터를 직접 조정한다.
+     */
+    @Transactional
+    default int moveComments(Post from, Post to) {
+        int moved = moveCommentRows(from, to);
+        addCommentCount(from.getId(), -moved);
+        addCommentCount(to.getId(), moved);
+        return moved;
+    }
+
+    @Modifying
+    @Query(value = "update post set revision = revision + 1 "
+        + "where id in (select c.post_id from comment c where c.content like concat('%', :keyword, '%'))",
+        nativeQuery = true)
+    int touchPostsWithCommentContaining(@Param("keyword") String keyword);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Comment c set c.content = :replacement where c.content like concat('%', :keyword, '%')")
+    int redactContentRows(@Param("keyword") String keyword, @Param("replacement") String replacement);
+
+    /*
+    내용을 바꾸기 전에 대상 댓글이 속한 Post의 revision을 올려 ETag가 바뀌게 한다.
+     */
+    @Transactional
+    default int redactContentContaining(String keyword, String replacement) {
+        touchPostsWithCommentContaining(keyword);
+        return redactContentRows(keyword, replacement);
+    }
+}
@@ -3,25 +3,61 @@ package com.learning.jpa.domain.post;
 import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 
 @Entity
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     private String content;
 
+    @Version
+    private Long version;
+
+    /*
+    카운터 컬럼은 엔티티 flush로 덮어쓰지 않고 flush가 끝날 때 PostCounterListener가 모은 update ... set count = count + ?로만 변경한다.
+    필드 값은 현재 영속성 컨텍스트에서 추가한 만큼만 반영된다.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long commentCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long tagCount;
+
+    /*
+    Comment, Tag가 추가, 삭제, 수정되거나 벌크 연산으로 바뀔 때마다 증가한다. version과 함께 ETag를 만든다.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long revision;
+
+    /*
+    컬렉션에 추가, 삭제해도 version을 올리지 않는다. 동시에 댓글을 추가하는 요청끼리 충돌하지 않게 한다.
+     */
+    @BatchSize(size = 100)
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "post", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Comment> comments = new ArrayList<>();
 
+    @BatchSize(size = 100)
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "post", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Tag> tags = new ArrayList<>();
 
@@ -35,11 +71,13 @@ public class Post {
     public void addComment(Comment comment) {
         comments.add(comment);
         comment.toPost(this);
+        commentCount++;
     }
 
     public void addTag(Tag tag) {
         tags.add(tag);
         tag.toPost(this);
+        tagCount++;
     }
 
     public Long getId() {
@@ -50,6 +88,22 @@ public class Post {
         return content;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public long getTagCount() {
+        return tagCount;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
     public List<Comment> getComments() {
         return comments;
     }
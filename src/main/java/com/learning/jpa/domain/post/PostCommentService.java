@@ -0,0 +1,52 @@
+package com.learning.jpa.domain.post;
+
+import com.learning.jpa.concurrency.OptimisticLockRetryExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+댓글 추가는 Post의 version을 올리지 않는다. 카운터는 PostCounterListener가 행 단위 update로 더하므로
+서로 다른 댓글 추가끼리는 충돌하지 않는다.
+댓글 수 제한처럼 읽은 값에 의존하는 불변식이 있을 때만 version을 강제로 증가시켜 충돌로 감지하고, 새 트랜잭션에서 재시도한다.
+ */
+@Service
+public class PostCommentService {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticLockRetryExecutor retryExecutor;
+
+    public PostCommentService(
+        PostRepository postRepository,
+        PlatformTransactionManager transactionManager,
+        OptimisticLockRetryExecutor retryExecutor
+    ) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryExecutor = retryExecutor;
+    }
+
+    public void addComment(Long postId, String content) {
+        transactionTemplate.execute(status -> {
+            Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 Post입니다. id=" + postId));
+            Comment comment = new Comment(content);
+            post.addComment(comment);
+            return comment;
+        });
+    }
+
+    public void addCommentWithinLimit(Long postId, String content, long maxComments) {
+        retryExecutor.execute(() -> transactionTemplate.execute(status -> {
+            Post post = postRepository.findWithVersionIncrementById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 Post입니다. id=" + postId));
+            if (post.getCommentCount() >= maxComments) {
+                throw new IllegalStateException("댓글은 " + maxComments + "개까지 작성할 수 있습니다. id=" + postId);
+            }
+            Comment comment = new Comment(content);
+            post.addComment(comment);
+            return comment;
+        }));
+    }
+}
@@ -0,0 +1,52 @@
+package com.learning.jpa.domain.post;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Expectations;
+
+/*
+한 번의 flush에서 모은 Post별 증감량을 Post마다 한 번의 update로 반영하고 revision을 올린다.
+증감량이 0이어도 Comment, Tag가 바뀐 Post이므로 revision은 올린다.
+Hibernate의 JDBC 배치(hibernate.jdbc.batch_size)로 묶어 실행하고, id 순서로 갱신하여 같은 Post들을 갱신하는 트랜잭션끼리 교착 상태에 빠지지 않는다.
+ */
+class PostCounterDeltas {
+
+    private static final String UPDATE_COUNTS =
+        "update post set comment_count = comment_count + ?, tag_count = tag_count + ?, revision = revision + 1 "
+            + "where id = ?";
+    private static final BatchKey BATCH_KEY = new BasicBatchKey(PostCounterDeltas.class.getName(), Expectations.NONE);
+
+    private final Map<Long, long[]> deltas = new TreeMap<>();
+
+    void add(Long postId, int comments, int tags) {
+        long[] delta = deltas.computeIfAbsent(postId, id -> new long[2]);
+        delta[0] += comments;
+        delta[1] += tags;
+    }
+
+    void apply(SessionImplementor session) {
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            long[] delta = entry.getValue();
+            Batch batch = jdbcCoordinator.getBatch(BATCH_KEY);
+            PreparedStatement statement = batch.getBatchStatement(UPDATE_COUNTS, false);
+            try {
+                statement.setLong(1, delta[0]);
+                statement.setLong(2, delta[1]);
+                statement.setLong(3, entry.getKey());
+            } catch (SQLException e) {
+                throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "could not update post counters", UPDATE_COUNTS);
+            }
+            batch.addToBatch();
+        }
+        jdbcCoordinator.executeBatch();
+    }
+}
@@ -0,0 +1,33 @@
+package com.learning.jpa.domain.post;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/*
+META-INF/services로 등록하여 @DataJpaTest를 포함한 모든 EntityManagerFactory에 PostCounterListener를 추가한다.
+ */
+public class PostCounterIntegrator implements Integrator {
+
+    @Override
+    public void integrate(
+        Metadata metadata,
+        SessionFactoryImplementor sessionFactory,
+        SessionFactoryServiceRegistry serviceRegistry
+    ) {
+        PostCounterListener listener = new PostCounterListener();
+        EventListenerRegistry eventListenerRegistry = serviceRegistry.getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, listener);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, listener);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, listener);
+        eventListenerRegistry.appendListeners(EventType.FLUSH, listener);
+        eventListenerRegistry.appendListeners(EventType.AUTO_FLUSH, listener);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
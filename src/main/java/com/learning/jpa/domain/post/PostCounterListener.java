@@ -0,0 +1,123 @@
+package com.learning.jpa.domain.post;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+
+/*
+Comment, Tag가 insert, delete, update 되거나 다른 Post로 옮겨질 때 Post별 증감량을 세션에 모아 둔다.
+기본 flush 리스너 뒤에 등록되어, flush가 끝나면 PostCounterDeltas가 Post마다 한 번씩 읽지 않고 제자리에서 증감한다.
+커밋 직전 flush도 같은 경로를 거치므로 댓글 N개를 저장해도 Post당 update는 한 번이다.
+ */
+public class PostCounterListener implements PostInsertEventListener, PostDeleteEventListener, PostUpdateEventListener,
+    FlushEventListener, AutoFlushEventListener {
+
+    private final Map<EventSource, PostCounterDeltas> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        add(event.getSession(), event.getEntity(), postId(event.getEntity()), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        add(event.getSession(), event.getEntity(), postId(event.getEntity()), -1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (!(entity instanceof Comment || entity instanceof Tag) || event.getOldState() == null) {
+            return;
+        }
+        int postIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("post");
+        Long oldPostId = idOf(event.getOldState()[postIndex]);
+        Long newPostId = idOf(event.getState()[postIndex]);
+        if (oldPostId == null ? newPostId == null : oldPostId.equals(newPostId)) {
+            add(event.getSession(), entity, newPostId, 0);
+            return;
+        }
+        add(event.getSession(), entity, oldPostId, -1);
+        add(event.getSession(), entity, newPostId, 1);
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        apply(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        apply(event.getSession());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void add(EventSource session, Object entity, Long postId, int delta) {
+        if (postId == null) {
+            return;
+        }
+        if (entity instanceof Comment) {
+            deltasOf(session).add(postId, delta, 0);
+        } else if (entity instanceof Tag) {
+            deltasOf(session).add(postId, 0, delta);
+        }
+    }
+
+    private void apply(EventSource session) {
+        PostCounterDeltas deltas = pending.remove(session);
+        if (deltas != null) {
+            deltas.apply(session);
+        }
+    }
+
+    /*
+    flush 도중 예외로 적용되지 못한 증감량은 트랜잭션이 끝날 때 버린다.
+     */
+    private PostCounterDeltas deltasOf(EventSource session) {
+        PostCounterDeltas deltas = pending.get(session);
+        if (deltas == null) {
+            deltas = new PostCounterDeltas();
+            pending.put(session, deltas);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, ignored) ->
+                pending.remove(session));
+        }
+        return deltas;
+    }
+
+    private Long postId(Object entity) {
+        if (entity instanceof Comment) {
+            return idOf(((Comment) entity).getPost());
+        }
+        if (entity instanceof Tag) {
+            return idOf(((Tag) entity).getPost());
+        }
+        return null;
+    }
+
+    private Long idOf(Object post) {
+        if (post instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) post).getHibernateLazyInitializer().getIdentifier();
+        }
+        if (post instanceof Post) {
+            return ((Post) post).getId();
+        }
+        return (Long) post;
+    }
+}
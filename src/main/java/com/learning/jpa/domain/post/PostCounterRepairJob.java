@@ -0,0 +1,49 @@
+package com.learning.jpa.domain.post;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+벌크 연산이나 직접 실행한 SQL로 어긋난 카운터를 실제 Comment, Tag 개수로 되돌린다.
+id 구간마다 트랜잭션을 나누어 한 번에 잠그는 Post 행의 수를 제한한다.
+ */
+@Component
+public class PostCounterRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCounterRepairJob.class);
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PostCounterRepairJob(
+        PostRepository postRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${jpa.counter.repair-chunk-size:1000}") int chunkSize
+    ) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${jpa.counter.repair-cron:-}")
+    public int repair() {
+        long maxId = postRepository.findMaxId().orElse(0L);
+        int repaired = 0;
+        for (long cursor = 0; cursor <= maxId; cursor += chunkSize) {
+            long from = cursor;
+            long to = cursor + chunkSize - 1;
+            Integer count = transactionTemplate.execute(status -> postRepository.repairCounters(from, to));
+            repaired += count == null ? 0 : count;
+        }
+        if (repaired > 0) {
+            log.warn("repaired comment/tag counters of {} posts", repaired);
+        }
+        return repaired;
+    }
+}
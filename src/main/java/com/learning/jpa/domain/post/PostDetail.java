@@ -0,0 +1,46 @@
+package com.learning.jpa.domain.post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class PostDetail {
+
+    public static final int RECENT_COMMENTS = 10;
+
+    private final PostSummary summary;
+    private final List<String> recentComments;
+    private final List<String> tagNames;
+
+    public PostDetail(PostSummary summary, List<String> recentComments, List<String> tagNames) {
+        this.summary = summary;
+        this.recentComments = Collections.unmodifiableList(recentComments);
+        this.tagNames = Collections.unmodifiableList(tagNames);
+    }
+
+    /*
+    스냅샷의 댓글은 id 순이므로 뒤에서부터 RECENT_COMMENTS개를 최근 댓글로 사용한다.
+     */
+    public static PostDetail from(PostSnapshot snapshot) {
+        List<String> comments = snapshot.getComments();
+        List<String> recentComments =
+            new ArrayList<>(comments.subList(Math.max(0, comments.size() - RECENT_COMMENTS), comments.size()));
+        Collections.reverse(recentComments);
+        return new PostDetail(
+            new PostSummary(snapshot.getId(), snapshot.getContent(), comments.size()),
+            recentComments,
+            snapshot.getTagNames());
+    }
+
+    public PostSummary getSummary() {
+        return summary;
+    }
+
+    public List<String> getRecentComments() {
+        return recentComments;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+}
@@ -0,0 +1,52 @@
+package com.learning.jpa.domain.post;
+
+import com.learning.jpa.execution.JdbcExecutor;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/*
+서로 의존하지 않는 조회를 JdbcExecutor에서 동시에 실행하여 응답 지연을 가장 느린 조회 하나 수준으로 줄인다.
+각 조회는 PostRepository에 선언한 별도의 읽기 전용 트랜잭션과 커넥션을 사용하므로 같은 시점의 스냅샷을 보장하지 않는다.
+JdbcExecutor가 가득 차면 RejectedExecutionException이 호출한 스레드로 전파된다.
+ */
+@Service
+public class PostDetailService {
+
+    private final PostRepository postRepository;
+    private final JdbcExecutor jdbcExecutor;
+
+    public PostDetailService(PostRepository postRepository, JdbcExecutor jdbcExecutor) {
+        this.postRepository = postRepository;
+        this.jdbcExecutor = jdbcExecutor;
+    }
+
+    public CompletableFuture<Optional<PostSummary>> findSummary(Long postId) {
+        return jdbcExecutor.supplyAsync(() -> postRepository.findSummaryById(postId));
+    }
+
+    public CompletableFuture<List<String>> findRecentComments(Long postId) {
+        return jdbcExecutor.supplyAsync(
+            () -> postRepository.findRecentCommentContents(postId, PageRequest.of(0, PostDetail.RECENT_COMMENTS)));
+    }
+
+    public CompletableFuture<List<String>> findTagNames(Long postId) {
+        return jdbcExecutor.supplyAsync(() -> postRepository.findTagNamesByPostIdIn(Collections.singletonList(postId))
+            .stream()
+            .map(PostTagName::getName)
+            .collect(Collectors.toList()));
+    }
+
+    public CompletableFuture<Optional<PostDetail>> findDetail(Long postId) {
+        CompletableFuture<Optional<PostSummary>> summary = findSummary(postId);
+        CompletableFuture<List<String>> comments = findRecentComments(postId);
+        CompletableFuture<List<String>> tagNames = findTagNames(postId);
+        return CompletableFuture.allOf(summary, comments, tagNames)
+            .thenApply(ignored -> summary.join()
+                .map(found -> new PostDetail(found, comments.join(), tagNames.join())));
+    }
+}
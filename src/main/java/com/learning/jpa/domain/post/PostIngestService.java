@@ -0,0 +1,42 @@
+package com.learning.jpa.domain.post;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+JDBC 배치 크기만큼 영속화한 뒤 flush, clear 하여 insert를 배치로 묶고 영속성 컨텍스트 크기를 제한한다.
+ */
+@Service
+public class PostIngestService {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public PostIngestService(
+        EntityManager entityManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize
+    ) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public int ingest(List<Post> posts) {
+        int pending = 0;
+        for (Post post : posts) {
+            entityManager.persist(post);
+            pending += 1 + post.getComments().size() + post.getTags().size();
+            if (pending >= batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return posts.size();
+    }
+}
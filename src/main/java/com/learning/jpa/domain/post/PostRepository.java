@@ -1,14 +1,28 @@
 package com.learning.jpa.domain.post;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostStreamingRepository {
 
     @Query("select p from Post p join fetch p.comments")
     List<Post> findAllInnerFetchJoin();
@@ -30,9 +44,108 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("select p from Post p join fetch p.comments")
     List<Post> findAllPagingWithFetchJoin(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
     @Query("select p from Post p join fetch p.comments")
     List<Post> findAllWithBatchSize();
 
     @Query("select p from Post p join fetch p.comments where p.id = :id")
     Optional<Post> findByIdWithInnerJoin(@Param("id") Long id);
+
+    @Query("select p from Post p left join fetch p.comments c where p.id = :id order by c.id")
+    Optional<Post> findByIdWithComments(@Param("id") Long id);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select p from Post p where p.id = :id")
+    Optional<Post> findWithVersionIncrementById(@Param("id") Long id);
+
+    @Query("select p.id from Post p where p.id > :cursor order by p.id")
+    List<Long> findIdsAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select distinct p from Post p left join fetch p.comments where p.id in :ids order by p.id")
+    List<Post> findAllWithCommentsByIdIn(@Param("ids") List<Long> ids);
+
+    /*
+    id를 커서로 SQL에서 페이징한 뒤 해당 페이지의 Post만 comments와 함께 조회한다.
+    Fetch Join과 Pageable을 함께 쓸 때처럼 메모리에서 페이징(HHH000104)하지 않는다.
+     */
+    default Slice<Post> findSliceWithCommentsAfter(Long cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        List<Long> ids = findIdsAfter(cursor == null ? 0L : cursor, PageRequest.of(0, size + 1));
+        boolean hasNext = ids.size() > size;
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(Collections.emptyList(), pageable, false);
+        }
+        List<Post> posts = findAllWithCommentsByIdIn(hasNext ? ids.subList(0, size) : ids);
+        return new SliceImpl<>(posts, pageable, hasNext);
+    }
+
+    @Query("select distinct p from Post p left join fetch p.tags where p.id in :ids")
+    List<Post> findAllWithTagsByIdIn(@Param("ids") List<Long> ids);
+
+    /*
+    두 컬렉션을 한 번에 Fetch Join하면 MultipleBagFetchException 또는 카테시안 곱이 발생하므로
+    comments와 tags를 각각 IN 쿼리로 조회하여 같은 영속성 컨텍스트의 Post에 채운다.
+     */
+    @Transactional(readOnly = true)
+    default List<Post> findAllWithCommentsAndTagsByIdIn(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Post> posts = findAllWithCommentsByIdIn(ids);
+        findAllWithTagsByIdIn(ids);
+        return posts;
+    }
+
+    @Query("select new com.learning.jpa.domain.post.PostSummary(p.id, p.content, p.commentCount) "
+        + "from Post p order by p.id")
+    List<PostSummary> findSummaries(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.learning.jpa.domain.post.PostSummary(p.id, p.content, p.commentCount) "
+        + "from Post p where p.id = :id")
+    Optional<PostSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select p.version as version, p.revision as revision from Post p where p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select c.content from Comment c where c.post.id = :postId order by c.id desc")
+    List<String> findRecentCommentContents(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("select max(p.id) from Post p")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Query(value = "update post p "
+        + "set comment_count = (select count(*) from comment c where c.post_id = p.id), "
+        + "tag_count = (select count(*) from tag t where t.post_id = p.id), "
+        + "revision = revision + 1 "
+        + "where p.id between :from and :to "
+        + "and (comment_count <> (select count(*) from comment c where c.post_id = p.id) "
+        + "or tag_count <> (select count(*) from tag t where t.post_id = p.id))", nativeQuery = true)
+    int repairCounters(@Param("from") Long from, @Param("to") Long to);
+
+    @Transactional(readOnly = true)
+    @Query("select t.post.id as postId, t.name as name from Tag t where t.post.id in :postIds order by t.id")
+    List<PostTagName> findTagNamesByPostIdIn(@Param("postIds") List<Long> postIds);
+
+    /*
+    엔티티를 영속성 컨텍스트에 올리지 않고 목록 화면에 필요한 값만 DTO로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    default List<PostSummary> findSummariesWithTagNames(Pageable pageable) {
+        List<PostSummary> summaries = findSummaries(pageable);
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        List<Long> postIds = summaries.stream()
+            .map(PostSummary::getId)
+            .collect(Collectors.toList());
+        Map<Long, List<String>> tagNames = findTagNamesByPostIdIn(postIds).stream()
+            .collect(Collectors.groupingBy(PostTagName::getPostId,
+                Collectors.mapping(PostTagName::getName, Collectors.toList())));
+        return summaries.stream()
+            .map(summary -> summary.withTagNames(tagNames.getOrDefault(summary.getId(), Collections.emptyList())))
+            .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,73 @@
+package com.learning.jpa.domain.post;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+영속성 컨텍스트와 분리된 Post, Comment, Tag 값의 불변 사본으로 여러 스레드가 캐시에서 공유한다.
+ */
+public class PostSnapshot {
+
+    private final Long id;
+    private final String content;
+    private final Long version;
+    private final long revision;
+    private final List<String> comments;
+    private final List<String> tagNames;
+
+    public PostSnapshot(
+        Long id,
+        String content,
+        Long version,
+        long revision,
+        List<String> comments,
+        List<String> tagNames
+    ) {
+        this.id = id;
+        this.content = content;
+        this.version = version;
+        this.revision = revision;
+        this.comments = Collections.unmodifiableList(comments);
+        this.tagNames = Collections.unmodifiableList(tagNames);
+    }
+
+    public static PostSnapshot from(Post post) {
+        return new PostSnapshot(
+            post.getId(),
+            post.getContent(),
+            post.getVersion(),
+            post.getRevision(),
+            post.getComments().stream().map(Comment::getContent).collect(Collectors.toList()),
+            post.getTags().stream().map(Tag::getName).collect(Collectors.toList())
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public boolean isOlderThan(PostVersion current) {
+        return version < current.getVersion() || revision < current.getRevision();
+    }
+
+    public List<String> getComments() {
+        return comments;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+}
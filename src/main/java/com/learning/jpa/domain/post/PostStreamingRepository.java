@@ -0,0 +1,13 @@
+package com.learning.jpa.domain.post;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public interface PostStreamingRepository {
+
+    void forEachPost(int chunkSize, Consumer<Post> action);
+
+    void forEachPostWithComments(int chunkSize, Consumer<Post> action);
+
+    Stream<Post> streamAll();
+}
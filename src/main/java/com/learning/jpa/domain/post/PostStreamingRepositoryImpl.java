@@ -0,0 +1,119 @@
+package com.learning.jpa.domain.post;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+처리한 엔티티를 chunkSize 단위로 영속성 컨텍스트에서 제거하며 순회한다.
+readOnly = true는 호출한 쪽의 읽기-쓰기 트랜잭션에 그대로 참여하므로, clear 전에 flush 하여 호출한 쪽의 변경을 버리지 않는다.
+ */
+@Transactional(readOnly = true)
+public class PostStreamingRepositoryImpl implements PostStreamingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void forEachPost(int chunkSize, Consumer<Post> action) {
+        Session session = entityManager.unwrap(Session.class);
+        ScrollableResults results = session.createQuery("select p from Post p order by p.id", Post.class)
+            .setFetchSize(chunkSize)
+            .setReadOnly(true)
+            .setCacheMode(CacheMode.IGNORE)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            int count = 0;
+            while (results.next()) {
+                action.accept((Post) results.get(0));
+                if (++count % chunkSize == 0) {
+                    clear();
+                }
+            }
+        } finally {
+            results.close();
+            clear();
+        }
+    }
+
+    /*
+    컬렉션 Fetch Join은 스크롤과 함께 쓸 수 없으므로 id 커서로 chunk를 나누어 comments와 함께 조회한다.
+     */
+    @Override
+    public void forEachPostWithComments(int chunkSize, Consumer<Post> action) {
+        Long cursor = 0L;
+        while (true) {
+            List<Long> ids = entityManager.createQuery(
+                "select p.id from Post p where p.id > :cursor order by p.id", Long.class)
+                .setParameter("cursor", cursor)
+                .setMaxResults(chunkSize)
+                .getResultList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            entityManager.createQuery(
+                "select distinct p from Post p left join fetch p.comments where p.id in :ids order by p.id", Post.class)
+                .setParameter("ids", ids)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultList()
+                .forEach(action);
+            clear();
+            cursor = ids.get(ids.size() - 1);
+        }
+    }
+
+    /*
+    다음 Post를 읽기 전에 직전 Post를 detach 하므로 영속성 컨텍스트에는 처리 중인 Post 하나만 남는다.
+    Stream은 메서드가 반환된 뒤에 소비되므로 호출한 쪽의 트랜잭션 안에서 사용하고 닫아야 한다.
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Post> streamAll() {
+        Session session = entityManager.unwrap(Session.class);
+        ScrollableResults results = session.createQuery("select p from Post p order by p.id", Post.class)
+            .setFetchSize(500)
+            .setReadOnly(true)
+            .setCacheMode(CacheMode.IGNORE)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        Spliterator<Post> posts = new Spliterators.AbstractSpliterator<Post>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private Post previous;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Post> action) {
+                if (previous != null) {
+                    session.detach(previous);
+                    previous = null;
+                }
+                if (!results.next()) {
+                    return false;
+                }
+                previous = (Post) results.get(0);
+                action.accept(previous);
+                return true;
+            }
+        };
+        return StreamSupport.stream(posts, false).onClose(results::close);
+    }
+
+    private void clear() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            entityManager.flush();
+        }
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package com.learning.jpa.domain.post;
+
+import java.util.Collections;
+import java.util.List;
+
+public class PostSummary {
+
+    private final Long id;
+    private final String content;
+    private final long commentCount;
+    private final List<String> tagNames;
+
+    public PostSummary(Long id, String content, long commentCount) {
+        this(id, content, commentCount, Collections.emptyList());
+    }
+
+    public PostSummary(Long id, String content, long commentCount, List<String> tagNames) {
+        this.id = id;
+        this.content = content;
+        this.commentCount = commentCount;
+        this.tagNames = Collections.unmodifiableList(tagNames);
+    }
+
+    public PostSummary withTagNames(List<String> tagNames) {
+        return new PostSummary(id, content, commentCount, tagNames);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+}
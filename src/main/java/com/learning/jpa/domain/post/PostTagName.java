@@ -0,0 +1,8 @@
+package com.learning.jpa.domain.post;
+
+public interface PostTagName {
+
+    Long getPostId();
+
+    String getName();
+}
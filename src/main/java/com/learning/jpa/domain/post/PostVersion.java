@@ -0,0 +1,15 @@
+package com.learning.jpa.domain.post;
+
+/*
+Post 자신의 변경은 version으로, Comment, Tag의 추가, 삭제, 내용 변경과 벌크 연산은 revision으로 반영한다.
+ */
+public interface PostVersion {
+
+    Long getVersion();
+
+    long getRevision();
+
+    default String toEntityTag(Long postId) {
+        return "\"post-" + postId + "-" + getVersion() + "-" + getRevision() + "\"";
+    }
+}
@@ -0,0 +1,28 @@
+package com.learning.jpa.domain.post;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    @Modifying
+    @Query(value = "update post set revision = revision + 1 "
+        + "where id in (select t.post_id from tag t where t.name = :name)", nativeQuery = true)
+    int touchPostsWithTagNamed(@Param("name") String name);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Tag t set t.name = :to where t.name = :from")
+    int renameRows(@Param("from") String from, @Param("to") String to);
+
+    /*
+    이름을 바꾸기 전에 대상 태그가 속한 Post의 revision을 올려 ETag가 바뀌게 한다.
+     */
+    @Transactional
+    default int rename(String from, String to) {
+        touchPostsWithTagNamed(from);
+        return renameRows(from, to);
+    }
+}
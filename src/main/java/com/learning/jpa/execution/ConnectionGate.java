@@ -0,0 +1,47 @@
+package com.learning.jpa.execution;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+커넥션 풀 크기만큼의 공정(fair) 세마포어로 DB를 사용하는 작업의 동시 실행 수를 제한한다.
+풀 크기를 넘는 요청은 getConnection에서 타임아웃되는 대신 도착 순서대로 대기한다.
+ */
+public class ConnectionGate {
+
+    private final Semaphore semaphore;
+    private final long timeoutMillis;
+
+    public ConnectionGate(int permits, long timeoutMillis) {
+        this.semaphore = new Semaphore(permits, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean tryEnter() throws InterruptedException {
+        return semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void exit() {
+        semaphore.release();
+    }
+
+    public <T> T execute(Callable<T> action) throws Exception {
+        if (!tryEnter()) {
+            throw new GateTimeoutException(timeoutMillis);
+        }
+        try {
+            return action.call();
+        } finally {
+            exit();
+        }
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int queueLength() {
+        return semaphore.getQueueLength();
+    }
+}
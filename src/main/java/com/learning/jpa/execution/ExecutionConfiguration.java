@@ -0,0 +1,77 @@
+package com.learning.jpa.execution;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(ExecutionProperties.class)
+public class ExecutionConfiguration {
+
+    @Bean
+    public ConnectionGate connectionGate(
+        ExecutionProperties properties,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        int permits = properties.getGatePermits() == null ? maximumPoolSize : properties.getGatePermits();
+        return new ConnectionGate(permits, properties.getGateTimeoutMillis());
+    }
+
+    @Bean
+    public JdbcExecutor jdbcExecutor(
+        ExecutionProperties properties,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        int threads = properties.getJdbcThreads() == null
+            ? Math.max(1, maximumPoolSize / 2)
+            : properties.getJdbcThreads();
+        return new JdbcExecutor(threads, properties.getJdbcQueueCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jpa.execution.gate-enabled", havingValue = "true")
+    public FilterRegistrationBean<ConnectionGateFilter> connectionGateFilter(
+        ConnectionGate connectionGate,
+        ExecutionProperties properties
+    ) {
+        FilterRegistrationBean<ConnectionGateFilter> registration =
+            new FilterRegistrationBean<>(new ConnectionGateFilter(connectionGate));
+        registration.setUrlPatterns(properties.getGateUrlPatterns());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jpa.execution.mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+
+    /*
+    실행기를 직접 넘기면 큐가 찼을 때 Poller 스레드가 요청을 실행하거나 Tomcat이 종료하지 않는 스레드가 남으므로,
+    Tomcat 자체 스레드 풀의 크기와 받아 둘 수 있는 연결 수를 제한한다. 넘치는 연결은 accept 대기열에 머물다 거절된다.
+    Spring Boot의 server.tomcat.* 설정보다 나중에 적용되도록 기본 순서(가장 낮은 우선순위)로 등록한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jpa.execution.mode", havingValue = "bounded")
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> boundedTomcatCustomizer(
+        ExecutionProperties properties
+    ) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol) {
+                AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+                protocol.setMinSpareThreads(properties.getBoundedThreads());
+                protocol.setMaxThreads(properties.getBoundedThreads());
+                protocol.setMaxConnections(properties.getBoundedThreads() + properties.getBoundedQueueCapacity());
+            }
+        });
+    }
+}
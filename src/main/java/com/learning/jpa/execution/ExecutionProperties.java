@@ -0,0 +1,97 @@
+package com.learning.jpa.execution;
+
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+jpa.execution.mode와 jpa.execution.gate-enabled는 @ConditionalOnProperty로만 읽는다.
+ */
+@ConfigurationProperties(prefix = "jpa.execution")
+public class ExecutionProperties {
+
+    private int boundedThreads = 50;
+
+    /*
+    bounded 모드에서 처리 중인 요청 외에 Tomcat이 받아 둘 수 있는 연결 수(maxConnections - boundedThreads)
+     */
+    private int boundedQueueCapacity = 1000;
+
+    /*
+    DB를 사용하는 API 경로에만 게이트를 적용한다. /actuator 등 DB를 쓰지 않는 요청은 허용량을 차지하지 않는다.
+     */
+    private List<String> gateUrlPatterns = Arrays.asList("/posts/*", "/articles/*");
+
+    /*
+    지정하지 않으면 spring.datasource.hikari.maximum-pool-size 값을 사용한다.
+     */
+    private Integer gatePermits;
+
+    /*
+    Hikari connection-timeout(기본 30초)보다 짧아야 getConnection 타임아웃 대신 503으로 응답한다.
+     */
+    private long gateTimeoutMillis = 25000;
+
+    /*
+    지정하지 않으면 spring.datasource.hikari.maximum-pool-size의 절반(최소 1)을 사용한다.
+     */
+    private Integer jdbcThreads;
+
+    private int jdbcQueueCapacity = 1000;
+
+    public int getBoundedThreads() {
+        return boundedThreads;
+    }
+
+    public void setBoundedThreads(int boundedThreads) {
+        this.boundedThreads = boundedThreads;
+    }
+
+    public int getBoundedQueueCapacity() {
+        return boundedQueueCapacity;
+    }
+
+    public void setBoundedQueueCapacity(int boundedQueueCapacity) {
+        this.boundedQueueCapacity = boundedQueueCapacity;
+    }
+
+    public List<String> getGateUrlPatterns() {
+        return gateUrlPatterns;
+    }
+
+    public void setGateUrlPatterns(List<String> gateUrlPatterns) {
+        this.gateUrlPatterns = gateUrlPatterns;
+    }
+
+    public Integer getGatePermits() {
+        return gatePermits;
+    }
+
+    public void setGatePermits(Integer gatePermits) {
+        this.gatePermits = gatePermits;
+    }
+
+    public long getGateTimeoutMillis() {
+        return gateTimeoutMillis;
+    }
+
+    public void setGateTimeoutMillis(long gateTimeoutMillis) {
+        this.gateTimeoutMillis = gateTimeoutMillis;
+    }
+
+    public Integer getJdbcThreads() {
+        return jdbcThreads;
+    }
+
+    public void setJdbcThreads(Integer jdbcThreads) {
+        this.jdbcThreads = jdbcThreads;
+    }
+
+    public int getJdbcQueueCapacity() {
+        return jdbcQueueCapacity;
+    }
+
+    public void setJdbcQueueCapacity(int jdbcQueueCapacity) {
+        this.jdbcQueueCapacity = jdbcQueueCapacity;
+    }
+}
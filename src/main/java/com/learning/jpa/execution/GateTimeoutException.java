@@ -0,0 +1,8 @@
+package com.learning.jpa.execution;
+
+public class GateTimeoutException extends RuntimeException {
+
+    public GateTimeoutException(long timeoutMillis) {
+        super("커넥션 게이트 대기 시간을 초과했습니다. timeout=" + timeoutMillis + "ms");
+    }
+}
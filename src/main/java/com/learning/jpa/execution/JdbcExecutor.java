@@ -0,0 +1,48 @@
+package com.learning.jpa.execution;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/*
+블로킹 JDBC 호출을 커넥션 풀보다 적은 수의 스레드에서 실행한다.
+요청 스레드도 같은 풀에서 커넥션을 얻으므로 이 스레드들만으로 풀을 모두 차지하지 않도록 크기를 풀의 절반으로 둔다.
+큐가 가득 차면 호출한 스레드에서 대신 실행하지 않고 RejectedExecutionException으로 거절한다.
+Executor를 구현하지 않아 Spring Boot의 applicationTaskExecutor 자동 설정을 대체하지 않는다.
+ */
+public class JdbcExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+
+    public JdbcExecutor(int threads, int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("jdbc-exec-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
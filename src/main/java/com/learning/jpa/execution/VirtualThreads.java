@@ -0,0 +1,21 @@
+package com.learning.jpa.execution;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+소스 호환성은 1.8로 유지하므로 Java 21의 가상 스레드 API는 리플렉션으로 호출한다.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서 실행해야 합니다. (./gradlew bootRun -Pjava21)", e);
+        }
+    }
+}
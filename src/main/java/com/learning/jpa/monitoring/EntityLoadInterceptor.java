@@ -0,0 +1,20 @@
+package com.learning.jpa.monitoring;
+
+import java.io.Serializable;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+public class EntityLoadInterceptor extends EmptyInterceptor {
+
+    private final transient QueryMonitor queryMonitor;
+
+    public EntityLoadInterceptor(QueryMonitor queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        queryMonitor.onEntityLoaded();
+        return false;
+    }
+}
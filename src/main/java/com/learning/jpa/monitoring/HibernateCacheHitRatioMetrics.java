@@ -0,0 +1,62 @@
+package com.learning.jpa.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/*
+Hibernate Statistics 중 Spring Boot의 HibernateMetrics가 제공하지 않는 2차 캐시, 쿼리 계획 캐시 적중률을 등록한다.
+ */
+public class HibernateCacheHitRatioMetrics implements SmartInitializingSingleton {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public HibernateCacheHitRatioMetrics(
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry.ifAvailable(registry -> entityManagerFactory.ifAvailable(factory -> {
+            Statistics statistics = factory.unwrap(SessionFactory.class).getStatistics();
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, HibernateCacheHitRatioMetrics::hitRatio)
+                .register(registry);
+            Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics,
+                HibernateCacheHitRatioMetrics::queryPlanHitRatio)
+                .register(registry);
+            FunctionCounter.builder("hibernate.query.plan.cache.requests", statistics,
+                Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+            FunctionCounter.builder("hibernate.query.plan.cache.requests", statistics,
+                Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+            FunctionCounter.builder("hibernate.statements.prepared", statistics, Statistics::getPrepareStatementCount)
+                .register(registry);
+        }));
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        return ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+    }
+
+    private static double queryPlanHitRatio(Statistics statistics) {
+        return ratio(statistics.getQueryPlanCacheHitCount(), statistics.getQueryPlanCacheMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
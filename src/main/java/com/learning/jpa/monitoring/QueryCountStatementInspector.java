@@ -0,0 +1,18 @@
+package com.learning.jpa.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private final QueryMonitor queryMonitor;
+
+    public QueryCountStatementInspector(QueryMonitor queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        queryMonitor.onStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,159 @@
+package com.learning.jpa.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/*
+Repository 호출 단위로 실행된 SQL, 읽은 행 수, 로딩된 엔티티 수, 소요 시간을 기록한다.
+호출이 끝난 뒤 지연 로딩으로 발생하는 SQL은 직전 Repository 호출의 lazy 단계로 집계한다.
+직전 호출은 바깥 트랜잭션이 끝나거나 웹 요청이 끝날 때 지우므로, 풀링된 스레드의 다음 작업으로 이어지지 않는다.
+ */
+public class QueryMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMonitor.class);
+
+    private static final String[] IGNORED_FRAMES = {
+        "java.", "javax.", "jdk.", "sun.", "com.sun.", "org.hibernate.", "org.springframework.",
+        "org.junit.", "com.zaxxer.", "org.h2.", QueryMonitor.class.getPackage().getName() + "."
+    };
+
+    private static final String UNKNOWN = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final QueryMonitoringProperties properties;
+    private final ThreadLocal<Deque<QueryScope>> activeScopes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<QueryScope> lastScope = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> clearOnCompletion = new ThreadLocal<>();
+
+    public QueryMonitor(MeterRegistry meterRegistry, QueryMonitoringProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    QueryScope begin(String repository, String method) {
+        QueryScope scope = new QueryScope(repository, method, TransactionSynchronizationManager.isSynchronizationActive());
+        activeScopes.get().push(scope);
+        return scope;
+    }
+
+    void end(QueryScope scope, long elapsedNanos) {
+        Deque<QueryScope> scopes = activeScopes.get();
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            retain(scope);
+        }
+        Timer.builder("jpa.repository.invocations")
+            .tag("repository", scope.getRepository())
+            .tag("method", scope.getMethod())
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void onStatement(String sql) {
+        QueryScope active = activeScopes.get().peek();
+        QueryScope scope = active != null ? active : lastScope.get();
+        String phase = active != null ? "invocation" : "lazy";
+
+        counter("jpa.repository.statements", scope, phase).increment();
+        if (scope != null && isSelect(sql)) {
+            detectRepeatedSelect(scope, sql, phase);
+        }
+    }
+
+    public void onRowsRead(long rows) {
+        QueryScope active = activeScopes.get().peek();
+        QueryScope scope = active != null ? active : lastScope.get();
+        counter("jpa.repository.rows.read", scope, active != null ? "invocation" : "lazy").increment(rows);
+    }
+
+    public void onEntityLoaded() {
+        QueryScope active = activeScopes.get().peek();
+        QueryScope scope = active != null ? active : lastScope.get();
+        counter("jpa.repository.entities.loaded", scope, active != null ? "invocation" : "lazy").increment();
+    }
+
+    public String currentOrigin() {
+        QueryScope active = activeScopes.get().peek();
+        if (active != null) {
+            return active.getRepository() + "." + active.getMethod();
+        }
+        QueryScope last = lastScope.get();
+        if (last != null) {
+            return last.getRepository() + "." + last.getMethod() + " (lazy)";
+        }
+        return UNKNOWN;
+    }
+
+    public void clear() {
+        lastScope.remove();
+    }
+
+    /*
+    바깥 트랜잭션 안에서 호출됐다면 그 트랜잭션이 끝날 때, 웹 요청 안이라면 QueryMonitorFilter가 요청을 마칠 때 지운다.
+    둘 다 아니면 세션이 이미 닫혀 지연 로딩이 일어날 수 없으므로 남기지 않는다.
+     */
+    private void retain(QueryScope scope) {
+        if (scope.isTransactional() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastScope.set(scope);
+            if (clearOnCompletion.get() == null) {
+                clearOnCompletion.set(Boolean.TRUE);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        lastScope.remove();
+                        clearOnCompletion.remove();
+                    }
+                });
+            }
+        } else if (RequestContextHolder.getRequestAttributes() != null) {
+            lastScope.set(scope);
+        } else {
+            lastScope.remove();
+        }
+    }
+
+    private void detectRepeatedSelect(QueryScope scope, String sql, String phase) {
+        int count = scope.countSelect(sql);
+        if (count < properties.getRepeatedSelectThreshold() || !scope.markReported(sql)) {
+            return;
+        }
+        counter("jpa.repository.n-plus-one", scope, phase).increment();
+        if (ThreadLocalRandom.current().nextDouble() < properties.getStackTraceSampleRate()) {
+            log.warn("N + 1 suspected after {}.{}: {} times [{}]\n\tat {}",
+                scope.getRepository(), scope.getMethod(), count, sql, callSite());
+        }
+    }
+
+    private Counter counter(String name, QueryScope scope, String phase) {
+        return Counter.builder(name)
+            .tag("repository", scope == null ? UNKNOWN : scope.getRepository())
+            .tag("method", scope == null ? UNKNOWN : scope.getMethod())
+            .tag("phase", phase)
+            .register(meterRegistry);
+    }
+
+    private String callSite() {
+        return Arrays.stream(new Throwable().getStackTrace())
+            .filter(frame -> Arrays.stream(IGNORED_FRAMES).noneMatch(frame.getClassName()::startsWith))
+            .limit(properties.getStackTraceDepth())
+            .map(StackTraceElement::toString)
+            .collect(Collectors.joining("\n\tat "));
+    }
+
+    private boolean isSelect(String sql) {
+        String trimmed = sql.trim();
+        return trimmed.regionMatches(true, 0, "select", 0, 6);
+    }
+}
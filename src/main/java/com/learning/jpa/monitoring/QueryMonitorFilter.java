@@ -0,0 +1,31 @@
+package com.learning.jpa.monitoring;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+Open Session In View로 요청이 끝날 때까지 지연 로딩된 SQL을 직전 Repository 호출로 집계하고, 요청이 끝나면 지운다.
+ */
+public class QueryMonitorFilter extends OncePerRequestFilter {
+
+    private final QueryMonitor queryMonitor;
+
+    public QueryMonitorFilter(QueryMonitor queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        queryMonitor.clear();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryMonitor.clear();
+        }
+    }
+}
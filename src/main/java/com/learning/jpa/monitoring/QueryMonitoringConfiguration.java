@@ -0,0 +1,78 @@
+package com.learning.jpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties({QueryMonitoringProperties.class, SlowQueryProperties.class})
+public class QueryMonitoringConfiguration {
+
+    @Bean
+    public static RepositoryQueryMonitoringPostProcessor repositoryQueryMonitoringPostProcessor(
+        ObjectProvider<QueryMonitor> queryMonitor
+    ) {
+        return new RepositoryQueryMonitoringPostProcessor(queryMonitor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jpa.slow-query", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && "dataSource".equals(beanName)) {
+                    return new SlowQueryDataSource((DataSource) bean, slowQueryLogger.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SlowQueryLogger slowQueryLogger(SlowQueryProperties properties, ObjectProvider<QueryMonitor> queryMonitor) {
+        return new SlowQueryLogger(properties, queryMonitor);
+    }
+
+    @Bean
+    public QueryMonitor queryMonitor(MeterRegistry meterRegistry, QueryMonitoringProperties properties) {
+        return new QueryMonitor(meterRegistry, properties);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public FilterRegistrationBean<QueryMonitorFilter> queryMonitorFilter(QueryMonitor queryMonitor) {
+        FilterRegistrationBean<QueryMonitorFilter> registration =
+            new FilterRegistrationBean<>(new QueryMonitorFilter(queryMonitor));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public HibernateCacheHitRatioMetrics hibernateCacheHitRatioMetrics(
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new HibernateCacheHitRatioMetrics(entityManagerFactory, meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryMonitoringHibernatePropertiesCustomizer(QueryMonitor queryMonitor) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector(queryMonitor));
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor(queryMonitor));
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.learning.jpa.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "jpa.monitoring")
+public class QueryMonitoringProperties {
+
+    /*
+    하나의 Repository 호출 범위에서 동일한 select 문이 이 횟수만큼 반복되면 N + 1로 판단한다.
+     */
+    private int repeatedSelectThreshold = 5;
+
+    private double stackTraceSampleRate = 0.1;
+
+    private int stackTraceDepth = 8;
+
+    public int getRepeatedSelectThreshold() {
+        return repeatedSelectThreshold;
+    }
+
+    public void setRepeatedSelectThreshold(int repeatedSelectThreshold) {
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    public double getStackTraceSampleRate() {
+        return stackTraceSampleRate;
+    }
+
+    public void setStackTraceSampleRate(double stackTraceSampleRate) {
+        this.stackTraceSampleRate = stackTraceSampleRate;
+    }
+
+    public int getStackTraceDepth() {
+        return stackTraceDepth;
+    }
+
+    public void setStackTraceDepth(int stackTraceDepth) {
+        this.stackTraceDepth = stackTraceDepth;
+    }
+}
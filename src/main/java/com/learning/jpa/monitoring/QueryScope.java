@@ -0,0 +1,44 @@
+package com.learning.jpa.monitoring;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+class QueryScope {
+
+    private final String repository;
+    private final String method;
+    private final boolean transactional;
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+    private final Set<String> reportedSelects = new HashSet<>();
+
+    QueryScope(String repository, String method, boolean transactional) {
+        this.repository = repository;
+        this.method = method;
+        this.transactional = transactional;
+    }
+
+    int countSelect(String sql) {
+        return selectCounts.merge(sql, 1, Integer::sum);
+    }
+
+    boolean markReported(String sql) {
+        return reportedSelects.add(sql);
+    }
+
+    String getRepository() {
+        return repository;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    /*
+    Repository가 직접 연 트랜잭션이 아니라 호출 전부터 진행 중이던 트랜잭션 안에서 시작됐는지 여부
+     */
+    boolean isTransactional() {
+        return transactional;
+    }
+}
@@ -0,0 +1,26 @@
+package com.learning.jpa.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class RepositoryQueryInterceptor implements MethodInterceptor {
+
+    private final QueryMonitor queryMonitor;
+    private final String repository;
+
+    public RepositoryQueryInterceptor(QueryMonitor queryMonitor, Class<?> repositoryInterface) {
+        this.queryMonitor = queryMonitor;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        QueryScope scope = queryMonitor.begin(repository, invocation.getMethod().getName());
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            queryMonitor.end(scope, System.nanoTime() - start);
+        }
+    }
+}
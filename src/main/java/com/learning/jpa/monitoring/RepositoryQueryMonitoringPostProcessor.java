@@ -0,0 +1,28 @@
+package com.learning.jpa.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/*
+Repository의 트랜잭션 인터셉터보다 바깥에 등록해야 호출 전부터 진행 중이던 트랜잭션이 있는지 알 수 있다.
+ */
+public class RepositoryQueryMonitoringPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryMonitor> queryMonitor;
+
+    public RepositoryQueryMonitoringPostProcessor(ObjectProvider<QueryMonitor> queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                    proxyFactory.addAdvice(0, new RepositoryQueryInterceptor(
+                        queryMonitor.getObject(), repositoryInformation.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,138 @@
+package com.learning.jpa.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/*
+PreparedStatement의 바인딩 값, 실행 시간, 조회 행 수를 수집하여 임계값을 넘은 쿼리만 SlowQueryLogger로 남긴다.
+조회 쿼리는 ResultSet을 모두 읽고 닫을 때까지의 시간을 실행 시간으로 본다.
+모든 JDBC 호출이 리플렉션을 거치므로 jpa.slow-query.enabled=true일 때만 등록한다.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLogger slowQueryLogger;
+
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLogger slowQueryLogger) {
+        super(targetDataSource);
+        this.slowQueryLogger = slowQueryLogger;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement && method.getName().startsWith("prepare")) {
+                return proxy(PreparedStatement.class, new StatementHandler((PreparedStatement) result, (String) args[0]));
+            }
+            return result;
+        });
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final PreparedStatement statement;
+        private final String sql;
+        private final Map<Integer, Object> parameters = new HashMap<>();
+
+        StatementHandler(PreparedStatement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDataSource.invoke(statement, method, args);
+            }
+
+            /*
+            바인딩 값은 복사하지 않고 넘긴다. SlowQueryLogger는 임계값을 넘은 경우에만 읽는다.
+             */
+            long start = System.nanoTime();
+            Object result = SlowQueryDataSource.invoke(statement, method, args);
+            if (result instanceof ResultSet) {
+                return countingResultSet((ResultSet) result, start);
+            }
+            slowQueryLogger.log(sql, parameters, System.nanoTime() - start, updateCount(result), explainDataSource());
+            return result;
+        }
+
+        private ResultSet countingResultSet(ResultSet resultSet, long start) {
+            long[] rows = new long[1];
+            boolean[] logged = new boolean[1];
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && !logged[0]) {
+                    logged[0] = true;
+                    long elapsed = System.nanoTime() - start;
+                    Object result = SlowQueryDataSource.invoke(resultSet, method, args);
+                    slowQueryLogger.log(sql, parameters, elapsed, rows[0], explainDataSource());
+                    return result;
+                }
+                Object result = SlowQueryDataSource.invoke(resultSet, method, args);
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    rows[0]++;
+                }
+                return result;
+            });
+        }
+
+        private long updateCount(Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            if (result instanceof int[]) {
+                long sum = 0;
+                for (int count : (int[]) result) {
+                    sum += Math.max(count, 0);
+                }
+                return sum;
+            }
+            return -1;
+        }
+    }
+
+    /*
+    실행 계획은 호출한 쪽의 트랜잭션이 아닌 래핑하지 않은 별도 커넥션에서 조회한다.
+     */
+    private DataSource explainDataSource() {
+        return obtainTargetDataSource();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
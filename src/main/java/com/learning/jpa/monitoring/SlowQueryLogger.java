@@ -0,0 +1,81 @@
+package com.learning.jpa.monitoring;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class SlowQueryLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final SlowQueryProperties properties;
+    private final ObjectProvider<QueryMonitor> queryMonitor;
+    private final Set<String> explainedStatements = ConcurrentHashMap.newKeySet();
+
+    public SlowQueryLogger(SlowQueryProperties properties, ObjectProvider<QueryMonitor> queryMonitor) {
+        this.properties = properties;
+        this.queryMonitor = queryMonitor;
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos) >= properties.getThresholdMillis();
+    }
+
+    public void log(String sql, Map<Integer, Object> parameters, long elapsedNanos, long rows, DataSource dataSource) {
+        QueryMonitor monitor = queryMonitor.getIfAvailable();
+        if (monitor != null && rows > 0 && isSelect(sql)) {
+            monitor.onRowsRead(rows);
+        }
+        if (!isSlow(elapsedNanos)) {
+            return;
+        }
+        String origin = monitor == null ? "none" : monitor.currentOrigin();
+        Map<Integer, Object> bound = new TreeMap<>(parameters);
+        log.warn("slow query {}ms rows={} origin={}\n{}\nparameters={}{}",
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, origin, sql, bound.values(),
+            explain(sql, bound, dataSource));
+    }
+
+    /*
+    호출한 쪽의 트랜잭션에 영향을 주지 않도록 풀에서 별도 커넥션을 받아 실행한다.
+    잠금을 거는 조회는 호출한 쪽이 가진 잠금을 기다리게 되므로 실행 계획을 남기지 않는다.
+     */
+    private String explain(String sql, Map<Integer, Object> parameters, DataSource dataSource) {
+        if (!properties.isExplain() || !isSelect(sql) || sql.toLowerCase(Locale.ROOT).contains(" for update")
+            || explainedStatements.size() >= properties.getMaxExplainedStatements()
+            || !explainedStatements.add(sql)) {
+            return "";
+        }
+        try (Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement("explain analyze " + sql)) {
+            connection.setReadOnly(true);
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder("\nplan=");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "\nplan=unavailable (" + e.getMessage() + ")";
+        }
+    }
+
+    private boolean isSelect(String sql) {
+        return sql.trim().regionMatches(true, 0, "select", 0, 6);
+    }
+}
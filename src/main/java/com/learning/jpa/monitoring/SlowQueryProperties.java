@@ -0,0 +1,53 @@
+package com.learning.jpa.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "jpa.slow-query")
+public class SlowQueryProperties {
+
+    /*
+    JDBC 객체를 프록시로 감싸므로 기본으로 끈다. jpa.repository.rows.read도 이 래퍼가 집계한다.
+     */
+    private boolean enabled = false;
+
+    private long thresholdMillis = 200;
+
+    /*
+    EXPLAIN ANALYZE는 쿼리를 별도 커넥션에서 한 번 더 실행하므로 기본으로 끄고, 켜더라도 같은 SQL은 한 번만 실행 계획을 남긴다.
+     */
+    private boolean explain = false;
+
+    private int maxExplainedStatements = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+    public int getMaxExplainedStatements() {
+        return maxExplainedStatements;
+    }
+
+    public void setMaxExplainedStatements(int maxExplainedStatements) {
+        this.maxExplainedStatements = maxExplainedStatements;
+    }
+}
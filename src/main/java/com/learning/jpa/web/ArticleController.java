@@ -0,0 +1,35 @@
+package com.learning.jpa.web;
+
+import com.learning.jpa.domain.article.ArticleRepository;
+import java.util.Optional;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+public class ArticleController {
+
+    private final ArticleRepository articleRepository;
+
+    public ArticleController(ArticleRepository articleRepository) {
+        this.articleRepository = articleRepository;
+    }
+
+    @GetMapping("/articles/{id}")
+    public ResponseEntity<ArticleResponse> findArticle(@PathVariable Long id, WebRequest request) {
+        Optional<Long> version = articleRepository.findVersionById(id);
+        if (!version.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        String entityTag = ArticleResponse.entityTag(id, version.get());
+        if (request.checkNotModified(entityTag)) {
+            return null;
+        }
+        return articleRepository.findWithAssociationsById(id)
+            .map(article -> ResponseEntity.ok().eTag(ArticleResponse.entityTag(id, article.getVersion()))
+                .body(ArticleResponse.from(article)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
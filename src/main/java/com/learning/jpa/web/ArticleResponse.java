@@ -0,0 +1,54 @@
+package com.learning.jpa.web;
+
+import com.learning.jpa.domain.article.Article;
+
+public class ArticleResponse {
+
+    private final Long id;
+    private final Long version;
+    private final Long categoryId;
+    private final Long subjectId;
+    private final Long writerId;
+
+    public ArticleResponse(Long id, Long version, Long categoryId, Long subjectId, Long writerId) {
+        this.id = id;
+        this.version = version;
+        this.categoryId = categoryId;
+        this.subjectId = subjectId;
+        this.writerId = writerId;
+    }
+
+    public static ArticleResponse from(Article article) {
+        return new ArticleResponse(
+            article.getId(),
+            article.getVersion(),
+            article.getCategory() == null ? null : article.getCategory().getId(),
+            article.getSubject().getId(),
+            article.getWriter().getId()
+        );
+    }
+
+    public static String entityTag(Long id, Long version) {
+        return "\"article-" + id + "-" + version + "\"";
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public Long getWriterId() {
+        return writerId;
+    }
+}
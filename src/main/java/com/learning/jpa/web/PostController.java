@@ -0,0 +1,45 @@
+package com.learning.jpa.web;
+
+import com.learning.jpa.cache.PostSnapshotCache;
+import com.learning.jpa.domain.post.PostDetail;
+import com.learning.jpa.domain.post.PostRepository;
+import com.learning.jpa.domain.post.PostVersion;
+import java.util.Optional;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/*
+If-None-Match가 일치하면 version과 revision만 조회하고 304로 응답한다.
+ETag를 본문보다 먼저 계산하므로 그 사이에 변경이 생겨도 클라이언트는 다음 요청에서 새 본문을 받는다.
+본문은 PostSnapshotCache에서 만들고, 캐시가 없거나 ETag보다 오래되었으면 요청 스레드에서 다시 읽는다.
+요청 스레드가 한 번에 커넥션 하나만 사용하므로 ConnectionGate의 허용량 하나와 맞는다.
+ */
+@RestController
+public class PostController {
+
+    private final PostRepository postRepository;
+    private final PostSnapshotCache postSnapshotCache;
+
+    public PostController(PostRepository postRepository, PostSnapshotCache postSnapshotCache) {
+        this.postRepository = postRepository;
+        this.postSnapshotCache = postSnapshotCache;
+    }
+
+    @GetMapping("/posts/{id}")
+    public ResponseEntity<PostDetail> findPost(@PathVariable Long id, WebRequest request) {
+        Optional<PostVersion> version = postRepository.findVersionById(id);
+        if (!version.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        String entityTag = version.get().toEntityTag(id);
+        if (request.checkNotModified(entityTag)) {
+            return null;
+        }
+        return postSnapshotCache.findById(id, version.get())
+            .map(snapshot -> ResponseEntity.ok().eTag(entityTag).body(PostDetail.from(snapshot)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
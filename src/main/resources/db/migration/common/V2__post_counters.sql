@@ -0,0 +1,6 @@
+alter table post add column comment_count bigint default 0 not null;
+alter table post add column tag_count bigint default 0 not null;
+
+update post p
+set comment_count = (select count(*) from comment c where c.post_id = p.id),
+    tag_count = (select count(*) from tag t where t.post_id = p.id);
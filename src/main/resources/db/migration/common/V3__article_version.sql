@@ -0,0 +1 @@
+alter table article add column version bigint default 0 not null;
@@ -0,0 +1 @@
+alter table post add column revision bigint default 0 not null;
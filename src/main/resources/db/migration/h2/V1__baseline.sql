@@ -0,0 +1,92 @@
+create sequence post_seq start with 1 increment by 50;
+create sequence comment_seq start with 1 increment by 50;
+create sequence tag_seq start with 1 increment by 50;
+create sequence likes_seq start with 1 increment by 50;
+
+create table post (
+    id bigint not null,
+    content varchar(255),
+    version bigint,
+    primary key (id)
+);
+
+create table likes (
+    id bigint not null,
+    primary key (id)
+);
+
+create table comment (
+    id bigint not null,
+    content varchar(255),
+    like_id bigint,
+    post_id bigint,
+    primary key (id),
+    constraint fk_comment_like foreign key (like_id) references likes (id),
+    constraint fk_comment_post foreign key (post_id) references post (id)
+);
+
+create index idx_comment_post_id on comment (post_id);
+
+create table tag (
+    id bigint not null,
+    name varchar(255),
+    post_id bigint,
+    primary key (id),
+    constraint fk_tag_post foreign key (post_id) references post (id)
+);
+
+create index idx_tag_post_id on tag (post_id);
+
+create table category (
+    id bigint auto_increment,
+    primary key (id)
+);
+
+create table subject (
+    id bigint auto_increment,
+    primary key (id)
+);
+
+create table writer (
+    id bigint auto_increment,
+    primary key (id)
+);
+
+create table article (
+    id bigint auto_increment,
+    category_id bigint,
+    subject_id bigint not null,
+    writer_id bigint not null,
+    primary key (id),
+    constraint fk_article_category foreign key (category_id) references category (id),
+    constraint fk_article_subject foreign key (subject_id) references subject (id),
+    constraint fk_article_writer foreign key (writer_id) references writer (id)
+);
+
+create index idx_article_subject_id on article (subject_id);
+
+create table parent (
+    id bigint auto_increment,
+    name varchar(255),
+    primary key (id)
+);
+
+create table child (
+    id bigint auto_increment,
+    name varchar(255),
+    parent_id bigint,
+    primary key (id),
+    constraint fk_child_parent foreign key (parent_id) references parent (id)
+);
+
+create index idx_child_parent_id on child (parent_id);
+
+create table orphan (
+    id bigint auto_increment,
+    name varchar(255),
+    parent_id bigint,
+    primary key (id),
+    constraint fk_orphan_parent foreign key (parent_id) references parent (id)
+);
+
+create index idx_orphan_parent_id on orphan (parent_id);
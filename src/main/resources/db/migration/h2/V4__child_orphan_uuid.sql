@@ -0,0 +1,9 @@
+alter table child add column uuid varchar(36);
+update child set uuid = cast(random_uuid() as varchar(36));
+alter table child alter column uuid set not null;
+alter table child add constraint uk_child_uuid unique (uuid);
+
+alter table orphan add column uuid varchar(36);
+update orphan set uuid = cast(random_uuid() as varchar(36));
+alter table orphan alter column uuid set not null;
+alter table orphan add constraint uk_orphan_uuid unique (uuid);
@@ -0,0 +1,102 @@
+create table post_seq (
+    next_val bigint
+) engine = InnoDB;
+insert into post_seq values (1);
+
+create table comment_seq (
+    next_val bigint
+) engine = InnoDB;
+insert into comment_seq values (1);
+
+create table tag_seq (
+    next_val bigint
+) engine = InnoDB;
+insert into tag_seq values (1);
+
+create table likes_seq (
+    next_val bigint
+) engine = InnoDB;
+insert into likes_seq values (1);
+
+create table post (
+    id bigint not null,
+    content varchar(255),
+    version bigint,
+    primary key (id)
+) engine = InnoDB;
+
+create table likes (
+    id bigint not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table comment (
+    id bigint not null,
+    content varchar(255),
+    like_id bigint,
+    post_id bigint,
+    primary key (id),
+    index idx_comment_post_id (post_id),
+    constraint fk_comment_like foreign key (like_id) references likes (id),
+    constraint fk_comment_post foreign key (post_id) references post (id)
+) engine = InnoDB;
+
+create table tag (
+    id bigint not null,
+    name varchar(255),
+    post_id bigint,
+    primary key (id),
+    index idx_tag_post_id (post_id),
+    constraint fk_tag_post foreign key (post_id) references post (id)
+) engine = InnoDB;
+
+create table category (
+    id bigint not null auto_increment,
+    primary key (id)
+) engine = InnoDB;
+
+create table subject (
+    id bigint not null auto_increment,
+    primary key (id)
+) engine = InnoDB;
+
+create table writer (
+    id bigint not null auto_increment,
+    primary key (id)
+) engine = InnoDB;
+
+create table article (
+    id bigint not null auto_increment,
+    category_id bigint,
+    subject_id bigint not null,
+    writer_id bigint not null,
+    primary key (id),
+    index idx_article_subject_id (subject_id),
+    constraint fk_article_category foreign key (category_id) references category (id),
+    constraint fk_article_subject foreign key (subject_id) references subject (id),
+    constraint fk_article_writer foreign key (writer_id) references writer (id)
+) engine = InnoDB;
+
+create table parent (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+create table child (
+    id bigint not null auto_increment,
+    name varchar(255),
+    parent_id bigint,
+    primary key (id),
+    index idx_child_parent_id (parent_id),
+    constraint fk_child_parent foreign key (parent_id) references parent (id)
+) engine = InnoDB;
+
+create table orphan (
+    id bigint not null auto_increment,
+    name varchar(255),
+    parent_id bigint,
+    primary key (id),
+    index idx_orphan_parent_id (parent_id),
+    constraint fk_orphan_parent foreign key (parent_id) references parent (id)
+) engine = InnoDB;
@@ -0,0 +1,9 @@
+alter table child add column uuid varchar(36);
+update child set uuid = uuid();
+alter table child modify column uuid varchar(36) not null;
+alter table child add constraint uk_child_uuid unique (uuid);
+
+alter table orphan add column uuid varchar(36);
+update orphan set uuid = uuid();
+alter table orphan modify column uuid varchar(36) not null;
+alter table orphan add constraint uk_orphan_uuid unique (uuid);
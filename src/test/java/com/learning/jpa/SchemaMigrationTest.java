@@ -0,0 +1,59 @@
+package com.learning.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("prod")
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("마이그레이션으로 만든 스키마가 엔티티 매핑 검증을 통과하고 외래 키 인덱스를 가진다.")
+    @Test
+    void migrateAndValidate() {
+        List<String> indexes = jdbcTemplate.queryForList(
+            "select distinct lower(index_name) from information_schema.indexes where lower(index_name) like 'idx_%'",
+            String.class);
+
+        assertThat(indexes).contains(
+            "idx_comment_post_id",
+            "idx_tag_post_id",
+            "idx_child_parent_id",
+            "idx_orphan_parent_id",
+            "idx_article_subject_id"
+        );
+    }
+
+    @DisplayName("벤더별 마이그레이션은 같은 버전을 모두 가진다.")
+    @Test
+    void vendorMigrationsAligned() throws IOException {
+        assertThat(scripts("h2")).isNotEmpty().isEqualTo(scripts("mysql"));
+    }
+
+    private List<String> scripts(String vendor) throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+            .getResources("classpath:db/migration/" + vendor + "/*.sql");
+        return Arrays.stream(resources)
+            .map(Resource::getFilename)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,264 @@
+package com.learning.jpa.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.CommentRepository;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostCommentService;
+import com.learning.jpa.domain.post.PostRepository;
+import com.learning.jpa.domain.post.PostSnapshot;
+import com.learning.jpa.domain.post.Tag;
+import com.learning.jpa.domain.post.TagRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:post-snapshot;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+})
+class PostSnapshotCacheTest {
+
+    private static final int READERS = 8;
+    private static final int WRITES = 100;
+
+    @Autowired
+    private PostSnapshotCache postSnapshotCache;
+
+    @Autowired
+    private PostCommentService postCommentService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        postSnapshotCache.invalidateAll();
+    }
+
+    @DisplayName("다른 스레드가 계속 캐시를 채우는 중에도 커밋 이후에는 변경된 스냅샷을 읽는다.")
+    @Test
+    void noStaleReadAfterCommit() throws Exception {
+        Long postId = savePostWithComment();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            readers.add(executorService.submit(() -> {
+                while (running.get()) {
+                    postSnapshotCache.findById(postId);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (int i = 0; i < WRITES; i++) {
+                postCommentService.addComment(postId, "comment " + i);
+
+                PostSnapshot snapshot = postSnapshotCache.findById(postId).get();
+                assertThat(snapshot.getComments()).hasSize(i + 2);
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+            executorService.shutdown();
+        }
+    }
+
+    @DisplayName("롤백된 변경은 캐시를 무효화하지 않는다.")
+    @Test
+    void keepSnapshotAfterRollback() {
+        Long postId = savePostWithComment();
+        PostSnapshot cached = postSnapshotCache.findById(postId).get();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Post post = postRepository.findById(postId).get();
+            post.addComment(new Comment("rolled back"));
+            postRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(postSnapshotCache.findById(postId).get()).isSameAs(cached);
+    }
+
+    @DisplayName("벌크 연산으로 댓글을 옮기면 캐시된 스냅샷을 무효화한다.")
+    @Test
+    void invalidateAfterMoveComments() {
+        Long fromId = savePostWithComment();
+        Long toId = postRepository.save(new Post("target")).getId();
+        postSnapshotCache.findById(fromId);
+        postSnapshotCache.findById(toId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            commentRepository.moveComments(postRepository.getById(fromId), postRepository.getById(toId)));
+
+        assertThat(postSnapshotCache.findById(fromId).get().getComments()).isEmpty();
+        assertThat(postSnapshotCache.findById(toId).get().getComments()).containsExactly("first");
+    }
+
+    @DisplayName("벌크 연산으로 댓글 내용을 바꾸면 캐시된 스냅샷을 무효화한다.")
+    @Test
+    void invalidateAfterRedact() {
+        Long postId = savePostWithComment();
+        postSnapshotCache.findById(postId);
+
+        commentRepository.redactContentContaining("first", "[redacted]");
+
+        assertThat(postSnapshotCache.findById(postId).get().getComments()).containsExactly("[redacted]");
+    }
+
+    @DisplayName("벌크 연산으로 태그 이름을 바꾸면 캐시된 스냅샷을 무효화한다.")
+    @Test
+    void invalidateAfterRename() {
+        Post post = new Post("tagged");
+        post.addTag(new Tag("jpa"));
+        Long postId = postRepository.save(post).getId();
+        postSnapshotCache.findById(postId);
+
+        tagRepository.rename("jpa", "hibernate");
+
+        assertThat(postSnapshotCache.findById(postId).get().getTagNames()).containsExactly("hibernate");
+    }
+
+    @DisplayName("네이티브 카운터 변경과 복구는 커밋 이후에 캐시를 무효화한다.")
+    @Test
+    void invalidateAfterNativeCounterUpdates() {
+        Long postId = savePostWithComment();
+        postSnapshotCache.findById(postId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            commentRepository.addCommentCount(postId, 1);
+            assertThat(postSnapshotCache.getCache().getIfPresent(postId)).isNotNull();
+        });
+        assertThat(postSnapshotCache.getCache().getIfPresent(postId)).isNull();
+
+        postSnapshotCache.findById(postId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            postRepository.repairCounters(postId, postId));
+        assertThat(postSnapshotCache.getCache().getIfPresent(postId)).isNull();
+    }
+
+    @DisplayName("롤백된 벌크 연산은 캐시를 무효화하지 않는다.")
+    @Test
+    void keepSnapshotAfterBulkRollback() {
+        Long postId = savePostWithComment();
+        PostSnapshot cached = postSnapshotCache.findById(postId).get();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            commentRepository.redactContentContaining("first", "[redacted]");
+            status.setRollbackOnly();
+        });
+
+        assertThat(postSnapshotCache.findById(postId).get()).isSameAs(cached);
+    }
+
+    @DisplayName("무효화 전에 읽은 스냅샷이 ETag보다 오래되었으면 다시 읽는다.")
+    @Test
+    void reloadSnapshotOlderThanVersion() {
+        Long postId = savePostWithComment();
+        PostSnapshot cached = postSnapshotCache.findById(postId).get();
+        postSnapshotCache.getCache().put(postId, new PostSnapshot(postId, cached.getContent(), cached.getVersion(),
+            cached.getRevision() - 1, cached.getComments(), cached.getTagNames()));
+
+        PostSnapshot snapshot = postSnapshotCache.findById(postId, postRepository.findVersionById(postId).get()).get();
+
+        assertThat(snapshot.getRevision()).isEqualTo(cached.getRevision());
+    }
+
+    @DisplayName("바깥 트랜잭션이 이미 변경한 뒤에도 REQUIRES_NEW 트랜잭션의 변경은 안쪽 커밋 직후 무효화한다.")
+    @Test
+    void invalidateAfterInnerCommit() {
+        Long outerPostId = savePostWithComment();
+        Long innerPostId = savePostWithComment();
+        postSnapshotCache.findById(outerPostId);
+        postSnapshotCache.findById(innerPostId);
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            postRepository.findById(outerPostId).get().addComment(new Comment("outer"));
+            postRepository.flush();
+
+            requiresNew.executeWithoutResult(inner -> {
+                postRepository.findById(innerPostId).get().addComment(new Comment("inner"));
+                postRepository.flush();
+            });
+
+            assertThat(postSnapshotCache.getCache().getIfPresent(innerPostId)).isNull();
+            assertThat(postSnapshotCache.getCache().getIfPresent(outerPostId)).isNotNull();
+            status.setRollbackOnly();
+        });
+
+        assertThat(postSnapshotCache.findById(innerPostId).get().getComments()).containsExactly("first", "inner");
+        assertThat(postSnapshotCache.getCache().getIfPresent(outerPostId)).isNotNull();
+    }
+
+    @DisplayName("바깥 트랜잭션이 벌크 연산을 실행한 뒤에도 REQUIRES_NEW의 벌크 연산은 안쪽 커밋 직후 무효화한다.")
+    @Test
+    void invalidateAfterInnerBulkCommit() {
+        Long postId = savePostWithComment();
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            commentRepository.redactContentContaining("nothing matches", "[redacted]");
+            postSnapshotCache.findById(postId);
+
+            requiresNew.executeWithoutResult(inner -> commentRepository.redactContentContaining("first", "[redacted]"));
+
+            assertThat(postSnapshotCache.getCache().getIfPresent(postId)).isNull();
+            status.setRollbackOnly();
+        });
+    }
+
+    @DisplayName("적중률, 제거, 로딩 시간 메트릭을 등록한다.")
+    @Test
+    void registerMetrics() {
+        Long postId = savePostWithComment();
+        postSnapshotCache.findById(postId);
+        postSnapshotCache.findById(postId);
+
+        assertThat(meterRegistry.find("cache.hit.ratio").tag("cache", "postSnapshots").gauge().value())
+            .isPositive();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "postSnapshots").meter())
+            .isNotNull();
+        assertThat(meterRegistry.find("cache.load.duration").tag("cache", "postSnapshots").meter())
+            .isNotNull();
+    }
+
+    private Long savePostWithComment() {
+        Post post = new Post("hot post");
+        post.addComment(new Comment("first"));
+        return postRepository.save(post).getId();
+    }
+}
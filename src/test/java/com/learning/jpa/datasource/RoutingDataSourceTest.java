@@ -0,0 +1,97 @@
+package com.learning.jpa.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.post.Post;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "jpa.datasource.routing.enabled=true",
+    "spring.datasource.primary.url=jdbc:h2:mem:primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.primary.username=sa",
+    "spring.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.replica.username=sa"
+})
+class RoutingDataSourceTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @DisplayName("readOnly 트랜잭션은 replica로 라우팅된다.")
+    @Test
+    void readOnlyTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        String database = transactionTemplate.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualToIgnoringCase("replica");
+    }
+
+    @DisplayName("readOnly가 아닌 트랜잭션은 primary로 라우팅된다.")
+    @Test
+    void readWriteTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String database = transactionTemplate.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualToIgnoringCase("primary");
+    }
+
+    @DisplayName("open-in-view처럼 하나의 EntityManager로 읽은 뒤 쓰면 쓰기는 primary로 라우팅된다.")
+    @Test
+    void writeAfterReadOnlyInSameEntityManager() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+            readOnlyTemplate.setReadOnly(true);
+            String readDatabase = readOnlyTemplate.execute(status -> currentDatabase(entityManager));
+
+            Long postId = new TransactionTemplate(transactionManager).execute(status -> {
+                assertThat(currentDatabase(entityManager)).isEqualToIgnoringCase("primary");
+                Post post = new Post("routed");
+                entityManager.persist(post);
+                return post.getId();
+            });
+
+            assertThat(readDatabase).isEqualToIgnoringCase("replica");
+            assertThat(new JdbcTemplate(primaryDataSource)
+                .queryForObject("select count(*) from post where id = ?", Long.class, postId)).isEqualTo(1);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private String currentDatabase(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select database()").getSingleResult();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
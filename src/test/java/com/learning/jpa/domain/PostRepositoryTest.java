@@ -5,10 +5,16 @@ import static org.assertj.core.api.Assertions.*;
 import com.learning.jpa.domain.post.Comment;
 import com.learning.jpa.domain.post.Post;
 import com.learning.jpa.domain.post.PostRepository;
+import com.learning.jpa.domain.post.PostSummary;
 import com.learning.jpa.domain.post.Tag;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import javax.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.hibernate.loader.MultipleBagFetchException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 @DataJpaTest
 class PostRepositoryTest {
@@ -190,7 +197,7 @@ class PostRepositoryTest {
     }
 
     /*
-    application.properties 옵션의 주석을 해제해야 한다.
+    Post.tags의 @BatchSize로 배치 조회한다.
      */
     @DisplayName("Batch를 통해 여러 컬렉션에 대한 N + 1 쿼리를 단 3개로 줄인다.")
     @Test
@@ -221,4 +228,103 @@ class PostRepositoryTest {
 
         assertThat(post).isEmpty();
     }
+
+    @DisplayName("id 커서로 페이징한 뒤 해당 페이지의 comments만 함께 조회한다.")
+    @Test
+    void findSliceWithCommentsAfter() {
+        Slice<Post> first = postRepository.findSliceWithCommentsAfter(null, 2);
+        Long cursor = first.getContent().get(1).getId();
+        Slice<Post> second = postRepository.findSliceWithCommentsAfter(cursor, 2);
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent()).allMatch(p -> Hibernate.isInitialized(p.getComments()));
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.getContent().get(0).getId()).isGreaterThan(cursor);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @DisplayName("스크롤로 순회하며 chunk 단위로 영속성 컨텍스트를 비운다.")
+    @Test
+    void forEachPost() {
+        List<Post> visited = new ArrayList<>();
+        postRepository.forEachPost(2, visited::add);
+
+        assertThat(visited).hasSize(3);
+        assertThat(visited).noneMatch(testEntityManager.getEntityManager()::contains);
+    }
+
+    @DisplayName("id 커서 chunk마다 comments를 함께 조회하고 영속성 컨텍스트를 비운다.")
+    @Test
+    void forEachPostWithComments() {
+        List<Post> visited = new ArrayList<>();
+        postRepository.forEachPostWithComments(2, visited::add);
+
+        assertThat(visited).hasSize(3);
+        assertThat(visited).allMatch(p -> Hibernate.isInitialized(p.getComments()));
+        assertThat(visited).noneMatch(testEntityManager.getEntityManager()::contains);
+    }
+
+    @DisplayName("Stream으로 Post를 조회하며 처리한 Post는 영속성 컨텍스트에서 제거한다.")
+    @Test
+    void streamAll() {
+        List<Post> visited = new ArrayList<>();
+        try (Stream<Post> posts = postRepository.streamAll()) {
+            posts.forEach(visited::add);
+        }
+
+        assertThat(visited).hasSize(3);
+        assertThat(visited).noneMatch(testEntityManager.getEntityManager()::contains);
+    }
+
+    @DisplayName("읽기-쓰기 트랜잭션에서 순회해도 flush 되지 않은 변경을 버리지 않는다.")
+    @Test
+    void forEachPost_PendingChanges_Flushed() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Comment comment = postRepository.findAll().get(0).getComments().get(0);
+        Object commentId = testEntityManager.getId(comment);
+        comment.redact("pending");
+
+        postRepository.forEachPost(2, post -> {
+        });
+        testEntityManager.clear();
+
+        assertThat(testEntityManager.find(Comment.class, commentId).getContent()).isEqualTo("pending");
+    }
+
+    @DisplayName("엔티티 대신 댓글 수와 태그 이름을 담은 DTO로 조회한다.")
+    @Test
+    void findSummariesWithTagNames() {
+        List<PostSummary> summaries = postRepository.findSummariesWithTagNames(PageRequest.of(0, 10));
+
+        assertThat(summaries).hasSize(3);
+        assertThat(summaries).allMatch(summary -> summary.getCommentCount() == 1);
+        assertThat(summaries).flatExtracting(PostSummary::getTagNames).containsExactly("abc", "def", "gka");
+        assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+            .isZero();
+    }
+
+    @DisplayName("comments와 tags를 각각 IN 쿼리로 조회하여 카테시안 곱 없이 채운다.")
+    @Test
+    void findAllWithCommentsAndTags() {
+        Post post = new Post("multi bag");
+        post.addComment(new Comment("c1"));
+        post.addComment(new Comment("c2"));
+        post.addTag(new Tag("t1"));
+        post.addTag(new Tag("t2"));
+        post.addTag(new Tag("t3"));
+        postRepository.save(post);
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<Post> posts = postRepository.findAllWithCommentsAndTagsByIdIn(Collections.singletonList(post.getId()));
+
+        assertThat(posts).hasSize(1);
+        assertThat(Hibernate.isInitialized(posts.get(0).getComments())).isTrue();
+        assertThat(Hibernate.isInitialized(posts.get(0).getTags())).isTrue();
+        assertThat(posts.get(0).getComments()).hasSize(2);
+        assertThat(posts.get(0).getTags()).hasSize(3);
+    }
 }
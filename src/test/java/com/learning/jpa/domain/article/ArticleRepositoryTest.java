@@ -1,12 +1,20 @@
 package com.learning.jpa.domain.article;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ArticleRepositoryTest {
 
     @Autowired
@@ -18,6 +26,16 @@ class ArticleRepositoryTest {
     @Autowired
     private TestEntityManager testEntityManager;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
     @DisplayName("Optional과 Nullable 여부에 따라 즉시 로딩시 Join의 차이를 확인한다.")
     @Test
     void checkJoin() {
@@ -48,4 +66,68 @@ class ArticleRepositoryTest {
         System.out.println("========= find =========");
         subjectRepository.findById(save.getId());
     }
+
+    @DisplayName("Article 조회시 연관 엔티티는 지연 로딩된다.")
+    @Test
+    void findArticleLazily() {
+        Article save = articleRepository
+            .save(new Article(new Category(), new Subject(), new Writer()));
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics.clear();
+
+        articleRepository.findById(save.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @DisplayName("EntityGraph로 Subject의 Article 수천 개를 쿼리 한 번에 조회한다.")
+    @Test
+    void findSubjectWithArticles() {
+        Subject subject = saveSubjectWithArticles(2000);
+
+        statistics.clear();
+
+        Subject findSubject = subjectRepository.findWithArticlesById(subject.getId()).get();
+
+        assertThat(findSubject.getArticles()).hasSize(2000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2001);
+    }
+
+    @DisplayName("여러 Subject의 Article 컬렉션은 BatchSize 단위로 한 번에 초기화된다.")
+    @Test
+    void findSubjectsWithBatchSize() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(saveSubjectWithArticles(1000).getId());
+        }
+
+        statistics.clear();
+
+        List<Subject> subjects = subjectRepository.findAllById(ids);
+        int articles = 0;
+        for (Subject subject : subjects) {
+            articles += subject.getArticles().size();
+        }
+
+        assertThat(articles).isEqualTo(3000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3003);
+    }
+
+    private Subject saveSubjectWithArticles(int count) {
+        Subject subject = subjectRepository.save(new Subject());
+        Category category = new Category();
+        Writer writer = new Writer();
+        for (int i = 0; i < count; i++) {
+            articleRepository.save(new Article(category, subject, writer));
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return subject;
+    }
 }
@@ -0,0 +1,85 @@
+package com.learning.jpa.domain.article;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+2차 캐시는 트랜잭션 커밋 이후에 반영되므로 Repository 호출마다 별도 트랜잭션으로 실행한다.
+커밋된 데이터는 롤백되지 않으므로 테스트마다 지워 같은 DB를 쓰는 다른 테스트에 남기지 않는다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /*
+    JPQL 벌크 삭제는 2차 캐시 영역과 쿼리 캐시의 테이블 갱신 시각을 함께 무효화한다.
+     */
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            Arrays.asList("Article", "Subject", "Category", "Writer")
+                .forEach(entity -> entityManager.createQuery("delete from " + entity).executeUpdate()));
+    }
+
+    @DisplayName("커밋된 엔티티는 2차 캐시에서 조회된다.")
+    @Test
+    void findReferenceDataFromCache() {
+        Article save = articleRepository.save(new Article(new Category(), new Subject(), new Writer()));
+
+        articleRepository.findById(save.getId());
+        subjectRepository.findById(save.getSubject().getId());
+
+        assertThat(statistics.getDomainDataRegionStatistics(Article.class.getName()).getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics(Subject.class.getName()).getHitCount()).isPositive();
+    }
+
+    @DisplayName("Fetch Join 조회 결과는 쿼리 캐시에서 조회된다.")
+    @Test
+    void findAllWithFetchJoinFromQueryCache() {
+        articleRepository.save(new Article(new Category(), new Subject(), new Writer()));
+
+        articleRepository.findAllWithFetchJoin();
+        articleRepository.findAllWithFetchJoin();
+
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
@@ -3,7 +3,7 @@ package com.learning.jpa.domain.family;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
-import java.util.List;
+import java.util.Set;
 import javax.persistence.NoResultException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -47,12 +47,13 @@ class ParentTest {
                     .createQuery("select c from Child c where c.id = :id", Child.class)
                     .setParameter("id", child.getId())
                     .getSingleResult();
-                List<Child> childs = findParent.getChildren();
+                Set<Child> childs = findParent.getChildren();
 
                 // then
                 assertThat(childs).isEmpty();
                 assertThat(findChild)
                     .usingRecursiveComparison()
+                    .ignoringFields("uuid")
                     .isEqualTo(new Child(findChild.getId(), "child", null));
             }
         }
@@ -80,7 +81,7 @@ class ParentTest {
                     .createQuery("select c from Child c where c.id = :id", Child.class)
                     .setParameter("id", child.getId())
                     .getSingleResult();
-                List<Child> childs = findParent.getChildren();
+                Set<Child> childs = findParent.getChildren();
 
                 // then
                 assertThat(childs).isNotEmpty();
@@ -145,7 +146,7 @@ class ParentTest {
 
                 // when
                 Parent findParent = parentRepository.findById(parent.getId()).get();
-                Child findChild = findParent.getChildren().get(0);
+                Child findChild = findParent.getChildren().iterator().next();
                 findParent.remove(findChild);
 
                 testEntityManager.flush();
@@ -219,7 +220,7 @@ class ParentTest {
 
                 // when
                 Parent findParent = parentRepository.findById(parent.getId()).get();
-                Orphan findOrphan = findParent.getOrphans().get(0);
+                Orphan findOrphan = findParent.getOrphans().iterator().next();
                 assertThat(findOrphan.getId()).isNotNull();
                 findParent.remove(findOrphan);
 
@@ -237,4 +238,67 @@ class ParentTest {
             }
         }
     }
+
+    @DisplayName("영속화 전 Child를 컬렉션에 담으면")
+    @Nested
+    class Describe_TransientIdentity {
+
+        @DisplayName("id가 없어도 서로 구분되어 지정한 Child만 제거되고 추가한 순서가 유지된다.")
+        @Test
+        void removeTransientChild_OnlyThatChildRemoved_True() {
+            // given
+            Parent parent = new Parent("parent");
+            Child first = new Child("first");
+            Child second = new Child("second");
+            Child third = new Child("third");
+            parent.add(first);
+            parent.add(second);
+            parent.add(third);
+
+            // when
+            parent.remove(second);
+
+            // then
+            assertThat(parent.getChildren()).containsExactly(first, third);
+        }
+    }
+
+    @DisplayName("벌크 삭제를 사용하면")
+    @Nested
+    class Describe_BulkDelete {
+
+        @DisplayName("자식 엔티티를 로딩하지 않고 부모와 함께 삭제한다.")
+        @Test
+        void deleteWithChildren_AllDeleted_True() {
+            // given
+            Parent parent = new Parent("parent");
+            for (int i = 0; i < 100; i++) {
+                Child child = new Child("child" + i);
+                child.toParent(parent);
+                parent.add(child);
+                parent.add(new Orphan("orphan" + i, parent));
+            }
+            parentRepository.save(parent);
+
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            // when
+            parentRepository.deleteWithChildrenById(parent.getId());
+
+            // then
+            Long children = testEntityManager.getEntityManager()
+                .createQuery("select count(c) from Child c where c.parent.id = :id", Long.class)
+                .setParameter("id", parent.getId())
+                .getSingleResult();
+            Long orphans = testEntityManager.getEntityManager()
+                .createQuery("select count(o) from Orphan o where o.parent.id = :id", Long.class)
+                .setParameter("id", parent.getId())
+                .getSingleResult();
+
+            assertThat(children).isZero();
+            assertThat(orphans).isZero();
+            assertThat(parentRepository.findById(parent.getId())).isEmpty();
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.family.Child;
+import com.learning.jpa.domain.family.Parent;
+import com.learning.jpa.domain.family.ParentRepository;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/*
+@BatchSize(size = 100)과 PADDED 방식에서 IN 절은 100, 50, 25, 12, 10 ~ 1개의 파라미터만 사용한다.
+남은 키가 구간 사이에 있으면 한 번의 쿼리로 패딩하여 조회한다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BatchFetchTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ParentRepository parentRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("Post.comments와 Post.tags는 컬렉션 개수에 따라 정해진 횟수의 IN 쿼리로 조회된다.")
+    @ParameterizedTest
+    @CsvSource({"1, 1", "30, 1", "100, 1", "101, 2", "130, 2", "250, 3"})
+    void batchFetchPostCollections(int postCount, int expectedInQueries) {
+        for (int i = 0; i < postCount; i++) {
+            Post post = new Post("post" + i);
+            post.addComment(new Comment("comment" + i));
+            post.addTag(new Tag("tag" + i));
+            postRepository.save(post);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<Post> posts = postRepository.findAll();
+        statistics.clear();
+        for (Post post : posts) {
+            assertThat(post.getComments()).hasSize(1);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedInQueries);
+
+        statistics.clear();
+        for (Post post : posts) {
+            assertThat(post.getTags()).hasSize(1);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedInQueries);
+    }
+
+    @DisplayName("Parent.children는 컬렉션 개수에 따라 정해진 횟수의 IN 쿼리로 조회된다.")
+    @ParameterizedTest
+    @CsvSource({"7, 1", "100, 1", "160, 2"})
+    void batchFetchChildren(int parentCount, int expectedInQueries) {
+        for (int i = 0; i < parentCount; i++) {
+            Parent parent = new Parent("parent" + i);
+            Child child = new Child("child" + i);
+            child.toParent(parent);
+            parent.add(child);
+            parentRepository.save(parent);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<Parent> parents = parentRepository.findAll();
+        statistics.clear();
+        for (Parent parent : parents) {
+            assertThat(parent.getChildren()).hasSize(1);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedInQueries);
+    }
+}
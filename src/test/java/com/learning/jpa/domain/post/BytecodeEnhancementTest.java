@@ -0,0 +1,73 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/*
+./gradlew test -Penhance 로 바이트코드 향상된 엔티티를 검증한다. 향상되지 않은 빌드에서는 건너뛴다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BytecodeEnhancementTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(SelfDirtinessTracker.class.isAssignableFrom(Comment.class), "-Penhance 빌드에서만 실행한다.");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < 3; i++) {
+            Post post = new Post("post" + i);
+            post.addComment(new Comment("comment" + i));
+            post.addComment(new Comment("comment" + i));
+            postRepository.save(post);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @DisplayName("향상된 빌드에서도 content는 엔티티와 함께 조회되어 추가 select가 발생하지 않는다.")
+    @Test
+    void contentLoadedWithEntity() {
+        statistics.clear();
+
+        List<Post> posts = postRepository.findAllEntityGraph();
+        posts.forEach(post -> {
+            post.getContent();
+            post.getComments().forEach(Comment::getContent);
+        });
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("변경된 속성만 dirty 속성으로 추적한다.")
+    @Test
+    void dirtyTracking() {
+        Comment comment = postRepository.findAllEntityGraph().get(0).getComments().get(0);
+
+        comment.redact("redacted");
+
+        assertThat(((SelfDirtinessTracker) comment).$$_hibernate_getDirtyAttributes()).containsExactly("content");
+    }
+}
@@ -0,0 +1,66 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest
+class CommentRepositoryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private Post from;
+    private Post to;
+
+    @BeforeEach
+    void setUp() {
+        from = new Post("from");
+        from.addComment(new Comment("secret comment"));
+        from.addComment(new Comment("public comment"));
+        to = new Post("to");
+        postRepository.save(from);
+        postRepository.save(to);
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @DisplayName("벌크 연산으로 댓글을 다른 Post로 옮긴 뒤 영속성 컨텍스트를 비운다.")
+    @Test
+    void moveComments() {
+        Post findFrom = postRepository.findById(from.getId()).get();
+        findFrom.getComments().size();
+
+        int moved = commentRepository.moveComments(findFrom, postRepository.getById(to.getId()));
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(testEntityManager.getEntityManager().contains(findFrom)).isFalse();
+        assertThat(postRepository.findById(from.getId()).get().getComments()).isEmpty();
+        assertThat(postRepository.findById(to.getId()).get().getComments()).hasSize(2);
+        assertThat(postRepository.findById(from.getId()).get().getCommentCount()).isZero();
+        assertThat(postRepository.findById(to.getId()).get().getCommentCount()).isEqualTo(2);
+    }
+
+    @DisplayName("벌크 연산으로 키워드를 포함한 댓글 내용을 가린다.")
+    @Test
+    void redactContentContaining() {
+        int redacted = commentRepository.redactContentContaining("secret", "[redacted]");
+
+        assertThat(redacted).isEqualTo(1);
+        assertThat(commentRepository.findAll())
+            .extracting(Comment::getContent)
+            .containsExactlyInAnyOrder("[redacted]", "public comment");
+    }
+}
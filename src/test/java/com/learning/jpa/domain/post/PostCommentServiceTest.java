@@ -0,0 +1,127 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:comment-stress;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.jpa.show-sql=false",
+    "spring.datasource.hikari.maximum-pool-size=32",
+    "jpa.retry.max-attempts=10"
+})
+class PostCommentServiceTest {
+
+    private static final int WRITERS = 32;
+    private static final int COMMENTS_PER_WRITER = 20;
+    private static final int LIMITED_WRITERS = 4;
+    private static final int MAX_COMMENTS = 10;
+
+    @Autowired
+    private PostCommentService postCommentService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+    }
+
+    @DisplayName("여러 스레드가 같은 Post에 댓글을 추가해도 충돌 없이 유실 없이 저장된다.")
+    @Test
+    void addCommentConcurrently() throws Exception {
+        Long postId = postRepository.save(new Post("hot post")).getId();
+        ExecutorService executorService = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            int writer = i;
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < COMMENTS_PER_WRITER; j++) {
+                    try {
+                        postCommentService.addComment(postId, "comment " + writer + "-" + j);
+                        committed.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executorService.shutdown();
+
+        System.out.printf("writers=%d committed=%d failed=%d throughput=%.1f comments/s%n",
+            WRITERS, committed.get(), failed.get(), committed.get() / (elapsedNanos / 1_000_000_000.0));
+
+        Post post = postRepository.findAllWithCommentsByIdIn(Collections.singletonList(postId)).get(0);
+        assertThat(post.getComments()).hasSize(committed.get());
+        assertThat(post.getCommentCount()).isEqualTo(committed.get());
+        assertThat(post.getVersion()).isZero();
+        assertThat(failed.get()).isZero();
+        assertThat(committed.get()).isEqualTo(WRITERS * COMMENTS_PER_WRITER);
+    }
+
+    @DisplayName("댓글 수 제한은 version 충돌과 재시도로 동시에 추가해도 넘지 않는다.")
+    @Test
+    void addCommentWithinLimitConcurrently() throws Exception {
+        Long postId = postRepository.save(new Post("limited post")).getId();
+        ExecutorService executorService = Executors.newFixedThreadPool(LIMITED_WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < LIMITED_WRITERS; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < COMMENTS_PER_WRITER; j++) {
+                    try {
+                        postCommentService.addCommentWithinLimit(postId, "comment", MAX_COMMENTS);
+                        committed.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        Post post = postRepository.findAllWithCommentsByIdIn(Collections.singletonList(postId)).get(0);
+        assertThat(committed.get()).isEqualTo(MAX_COMMENTS);
+        assertThat(post.getComments()).hasSize(MAX_COMMENTS);
+        assertThat(rejected.get()).isEqualTo(LIMITED_WRITERS * COMMENTS_PER_WRITER - MAX_COMMENTS);
+    }
+}
@@ -0,0 +1,153 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:post-counter;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=16"
+})
+class PostCounterTest {
+
+    private static final int WRITERS = 16;
+    private static final int WRITES_PER_WRITER = 50;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostCounterRepairJob postCounterRepairJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+    }
+
+    @DisplayName("여러 스레드가 같은 Post에 댓글과 태그를 추가해도 카운터는 실제 개수와 같다.")
+    @Test
+    void countConcurrentInserts() throws Exception {
+        Long postId = postRepository.save(new Post("counted")).getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executorService = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < WRITES_PER_WRITER; j++) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        Post post = postRepository.getById(postId);
+                        Comment comment = new Comment("comment");
+                        comment.toPost(post);
+                        commentRepository.save(comment);
+                        Tag tag = new Tag("tag");
+                        tag.toPost(post);
+                        tagRepository.save(tag);
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        Post post = postRepository.findById(postId).get();
+        assertThat(post.getCommentCount()).isEqualTo(WRITERS * WRITES_PER_WRITER);
+        assertThat(post.getTagCount()).isEqualTo(WRITERS * WRITES_PER_WRITER);
+        assertThat(post.getCommentCount()).isEqualTo(countRows("comment", postId));
+    }
+
+    @DisplayName("댓글 N개와 함께 저장해도 카운터 update는 Post마다 한 번만 실행된다.")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 150})
+    void updateCounterOncePerPost(int comments) {
+        jdbcTemplate.execute("set query_statistics true");
+        try {
+            Post post = new Post("batched");
+            for (int i = 0; i < comments; i++) {
+                post.addComment(new Comment("comment " + i));
+            }
+            post.addTag(new Tag("tag"));
+            Long postId = postRepository.save(post).getId();
+
+            assertThat(executions("update post set comment_count%")).isEqualTo(1);
+            assertThat(postRepository.findById(postId).get().getCommentCount()).isEqualTo(comments);
+            assertThat(postRepository.findById(postId).get().getTagCount()).isEqualTo(1);
+        } finally {
+            jdbcTemplate.execute("set query_statistics false");
+        }
+    }
+
+    @DisplayName("댓글을 삭제하면 카운터가 감소한다.")
+    @Test
+    void countDelete() {
+        Post post = new Post("counted");
+        post.addComment(new Comment("first"));
+        post.addComment(new Comment("second"));
+        Long postId = postRepository.save(post).getId();
+
+        commentRepository.delete(commentRepository.findAll().get(0));
+
+        assertThat(postRepository.findById(postId).get().getCommentCount()).isEqualTo(1);
+    }
+
+    @DisplayName("어긋난 카운터를 실제 개수로 보정한다.")
+    @Test
+    void repair() {
+        Post post = new Post("drifted");
+        post.addComment(new Comment("comment"));
+        post.addTag(new Tag("tag"));
+        Long postId = postRepository.save(post).getId();
+        jdbcTemplate.update("update post set comment_count = 42, tag_count = 0 where id = ?", postId);
+
+        int repaired = postCounterRepairJob.repair();
+
+        Post repairedPost = postRepository.findById(postId).get();
+        assertThat(repaired).isEqualTo(1);
+        assertThat(repairedPost.getCommentCount()).isEqualTo(1);
+        assertThat(repairedPost.getTagCount()).isEqualTo(1);
+    }
+
+    private long executions(String sqlPattern) {
+        return jdbcTemplate.queryForObject("select coalesce(sum(execution_count), 0) "
+            + "from information_schema.query_statistics where lower(sql_statement) like ?", Long.class, sqlPattern);
+    }
+
+    private long countRows(String table, Long postId) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where post_id = ?", Long.class, postId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.learning.jpa.execution.JdbcExecutor;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:post-detail;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class PostDetailServiceTest {
+
+    @Autowired
+    private PostDetailService postDetailService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcExecutor jdbcExecutor;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+    }
+
+    @DisplayName("Post 요약, 최근 댓글, 태그를 동시에 조회하여 합친다.")
+    @Test
+    void findDetail() throws Exception {
+        Post post = new Post("detail");
+        post.addComment(new Comment("first"));
+        post.addComment(new Comment("second"));
+        post.addTag(new Tag("jpa"));
+        Long postId = postRepository.save(post).getId();
+
+        PostDetail detail = postDetailService.findDetail(postId).get(5, TimeUnit.SECONDS).get();
+
+        assertThat(detail.getSummary().getCommentCount()).isEqualTo(2);
+        assertThat(detail.getRecentComments()).containsExactly("second", "first");
+        assertThat(detail.getTagNames()).containsExactly("jpa");
+    }
+
+    @DisplayName("존재하지 않는 Post는 빈 결과를 반환한다.")
+    @Test
+    void findMissingDetail() throws Exception {
+        Optional<PostDetail> detail = postDetailService.findDetail(-1L).get(5, TimeUnit.SECONDS);
+
+        assertThat(detail).isEmpty();
+    }
+
+    @DisplayName("조회는 jdbc-exec 스레드에서 실행된다.")
+    @Test
+    void runOnJdbcExecutor() throws Exception {
+        String threadName = jdbcExecutor.supplyAsync(() -> Thread.currentThread().getName())
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(threadName).startsWith("jdbc-exec-");
+    }
+
+    @DisplayName("큐가 가득 차면 호출한 스레드에서 실행하지 않고 거절한다.")
+    @Test
+    void rejectWhenSaturated() throws Exception {
+        JdbcExecutor saturated = new JdbcExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            saturated.supplyAsync(() -> await(release));
+            saturated.supplyAsync(() -> await(release));
+
+            assertThatThrownBy(() -> saturated.supplyAsync(() -> Thread.currentThread().getName()))
+                .isInstanceOf(RejectedExecutionException.class);
+        } finally {
+            release.countDown();
+            saturated.destroy();
+        }
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=10")
+@Import(PostIngestService.class)
+class PostIngestServiceTest {
+
+    @Autowired
+    private PostIngestService postIngestService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @DisplayName("배치 크기 단위로 flush, clear 하며 Post와 연관 엔티티를 함께 저장한다.")
+    @Test
+    void ingest() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Post post = new Post("post" + i);
+            post.addComment(new Comment("comment" + i));
+            post.addComment(new Comment("comment" + i));
+            post.addTag(new Tag("tag" + i));
+            posts.add(post);
+        }
+
+        postIngestService.ingest(posts);
+
+        Long comments = testEntityManager.getEntityManager()
+            .createQuery("select count(c) from Comment c", Long.class)
+            .getSingleResult();
+        assertThat(posts).allMatch(p -> p.getId() != null);
+        assertThat(posts).noneMatch(testEntityManager.getEntityManager()::contains);
+        assertThat(comments).isEqualTo(50);
+    }
+}
@@ -0,0 +1,38 @@
+package com.learning.jpa.domain.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest
+class TagRepositoryTest {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @DisplayName("벌크 연산으로 모든 Post의 태그 이름을 변경한다.")
+    @Test
+    void rename() {
+        for (int i = 0; i < 3; i++) {
+            Post post = new Post("post" + i);
+            post.addTag(new Tag("jpa"));
+            postRepository.save(post);
+        }
+        testEntityManager.flush();
+
+        int renamed = tagRepository.rename("jpa", "hibernate");
+
+        assertThat(renamed).isEqualTo(3);
+        assertThat(tagRepository.findAll()).extracting(Tag::getName).containsOnly("hibernate");
+    }
+}
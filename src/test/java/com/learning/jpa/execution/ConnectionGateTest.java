@@ -0,0 +1,44 @@
+package com.learning.jpa.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConnectionGateTest {
+
+    @DisplayName("허용량을 모두 사용하면 대기 시간 이후 진입에 실패한다.")
+    @Test
+    void tryEnter_Exhausted_False() throws InterruptedException {
+        ConnectionGate connectionGate = new ConnectionGate(1, 10);
+
+        assertThat(connectionGate.tryEnter()).isTrue();
+        assertThat(connectionGate.tryEnter()).isFalse();
+
+        connectionGate.exit();
+
+        assertThat(connectionGate.tryEnter()).isTrue();
+    }
+
+    @DisplayName("진입하지 못한 작업은 GateTimeoutException이 발생한다.")
+    @Test
+    void execute_Exhausted_Exception() throws InterruptedException {
+        ConnectionGate connectionGate = new ConnectionGate(1, 10);
+        connectionGate.tryEnter();
+
+        assertThatThrownBy(() -> connectionGate.execute(() -> "never"))
+            .isInstanceOf(GateTimeoutException.class);
+    }
+
+    @DisplayName("작업이 끝나면 허용량을 반납한다.")
+    @Test
+    void execute_Released() throws Exception {
+        ConnectionGate connectionGate = new ConnectionGate(2, 10);
+
+        String result = connectionGate.execute(() -> "done");
+
+        assertThat(result).isEqualTo("done");
+        assertThat(connectionGate.availablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,40 @@
+package com.learning.jpa.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.post.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false"
+})
+class MetricsExportTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @DisplayName("커넥션 풀, Hibernate Statistics, Repository 메트릭을 등록한다.")
+    @Test
+    void registerMetrics() {
+        postRepository.findAll();
+
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.entities.loads").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.query.executions.max").timeGauge()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.hit.ratio").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.query.plan.cache.requests").tag("result", "miss").functionCounter()
+            .count()).isPositive();
+        assertThat(meterRegistry.find("spring.data.repository.invocations").tag("method", "findAll").timer())
+            .isNotNull();
+    }
+}
@@ -0,0 +1,98 @@
+package com.learning.jpa.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class QueryMonitorScopeTest {
+
+    private static final String SELECT = "select id from post";
+
+    private MeterRegistry meterRegistry;
+    private QueryMonitor queryMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryMonitor = new QueryMonitor(meterRegistry, new QueryMonitoringProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("바깥 트랜잭션이 끝나면 이후 SQL을 직전 Repository 호출의 lazy 단계로 집계하지 않는다.")
+    @Test
+    void clearedAfterTransactionCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        invoke("findAll");
+        queryMonitor.onStatement(SELECT);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+            TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationManager.clearSynchronization();
+        queryMonitor.onStatement(SELECT);
+
+        assertThat(count("findAll", "lazy")).isEqualTo(1);
+        assertThat(count("none", "lazy")).isEqualTo(1);
+        assertThat(queryMonitor.currentOrigin()).isEqualTo("none");
+    }
+
+    @DisplayName("트랜잭션 없는 웹 요청은 요청이 끝날 때 직전 Repository 호출을 지운다.")
+    @Test
+    void clearedAfterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        invoke("findAll");
+        queryMonitor.onStatement(SELECT);
+
+        new QueryMonitorFilter(queryMonitor).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        RequestContextHolder.resetRequestAttributes();
+        queryMonitor.onStatement(SELECT);
+
+        assertThat(count("findAll", "lazy")).isEqualTo(1);
+        assertThat(count("none", "lazy")).isEqualTo(1);
+    }
+
+    @DisplayName("트랜잭션도 웹 요청도 없으면 호출이 끝난 뒤의 SQL을 이어서 집계하지 않는다.")
+    @Test
+    void notRetainedOutsideTransactionAndRequest() {
+        invoke("findAll");
+        queryMonitor.onStatement(SELECT);
+
+        assertThat(count("none", "lazy")).isEqualTo(1);
+        assertThat(meterRegistry.find("jpa.repository.statements").tag("method", "findAll").tag("phase", "lazy")
+            .counter()).isNull();
+    }
+
+    private void invoke(String method) {
+        QueryScope scope = queryMonitor.begin("PostRepository", method);
+        queryMonitor.onStatement(SELECT);
+        queryMonitor.end(scope, 0);
+    }
+
+    private double count(String method, String phase) {
+        return meterRegistry.get("jpa.repository.statements")
+            .tag("method", method)
+            .tag("phase", phase)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.learning.jpa.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = {"jpa.monitoring.stack-trace-sample-rate=1.0", "jpa.slow-query.enabled=true"})
+@Import({QueryMonitoringConfiguration.class, QueryMonitorTest.MeterRegistryConfiguration.class})
+class QueryMonitorTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Post post = new Post("post" + i);
+            post.addComment(new Comment("comment" + i));
+            postRepository.save(post);
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @DisplayName("Repository 호출 이후 지연 로딩으로 반복되는 쿼리를 N + 1로 집계한다.")
+    @Test
+    void detectNPlusOne() {
+        List<Post> posts = postRepository.findAll();
+
+        for (Post p : posts) {
+            p.getComments().get(0).getContent();
+        }
+
+        assertThat(count("jpa.repository.statements", "invocation")).isEqualTo(1);
+        assertThat(count("jpa.repository.statements", "lazy")).isEqualTo(5);
+        assertThat(count("jpa.repository.entities.loaded", "invocation")).isEqualTo(5);
+        assertThat(count("jpa.repository.rows.read", "invocation")).isEqualTo(5);
+        assertThat(count("jpa.repository.rows.read", "lazy")).isEqualTo(5);
+        assertThat(count("jpa.repository.n-plus-one", "lazy")).isEqualTo(1);
+    }
+
+    @DisplayName("Fetch Join으로 조회하면 N + 1로 집계되지 않는다.")
+    @Test
+    void fetchJoinNotDetected() {
+        List<Post> posts = postRepository.findAllInnerFetchJoinWithDistinct();
+
+        for (Post p : posts) {
+            p.getComments().get(0).getContent();
+        }
+
+        assertThat(meterRegistry.find("jpa.repository.n-plus-one")
+            .tag("method", "findAllInnerFetchJoinWithDistinct")
+            .counter()).isNull();
+    }
+
+    private double count(String name, String phase) {
+        return meterRegistry.get(name)
+            .tag("repository", "PostRepository")
+            .tag("method", "findAll")
+            .tag("phase", phase)
+            .counter()
+            .count();
+    }
+
+    @TestConfiguration
+    static class MeterRegistryConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
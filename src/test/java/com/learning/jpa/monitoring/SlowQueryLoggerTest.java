@@ -0,0 +1,62 @@
+package com.learning.jpa.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = {
+    "jpa.slow-query.enabled=true",
+    "jpa.slow-query.threshold-millis=0",
+    "jpa.slow-query.explain=true"
+})
+@Import({QueryMonitoringConfiguration.class, SlowQueryLoggerTest.MeterRegistryConfiguration.class})
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggerTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @DisplayName("임계값을 넘은 쿼리는 바인딩 값, 호출한 리포지토리 메서드, 행 수, 실행 계획과 함께 기록된다.")
+    @Test
+    void logSlowQuery(CapturedOutput output) {
+        postRepository.save(new Post("slow"));
+        postRepository.save(new Post("query"));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        postRepository.findAllWithTagsByIdIn(Arrays.asList(-1L, -2L));
+        postRepository.findAll();
+
+        assertThat(output).contains("origin=PostRepository.findAllWithTagsByIdIn");
+        assertThat(output).contains("parameters=[-1, -2]");
+        assertThat(output).contains("rows=2 origin=PostRepository.findAll");
+        assertThat(output).contains("plan=");
+    }
+
+    @TestConfiguration
+    static class MeterRegistryConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
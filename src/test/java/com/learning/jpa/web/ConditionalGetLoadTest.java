@@ -0,0 +1,172 @@
+package com.learning.jpa.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.learning.jpa.domain.post.Comment;
+import com.learning.jpa.domain.post.CommentRepository;
+import com.learning.jpa.domain.post.Post;
+import com.learning.jpa.domain.post.PostCommentService;
+import com.learning.jpa.domain.post.PostRepository;
+import com.learning.jpa.domain.post.Tag;
+import com.learning.jpa.domain.post.TagRepository;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/*
+같은 Post를 반복 폴링할 때 If-None-Match로 응답 바이트가 얼마나 줄어드는지 측정한다.
+본문은 PostSnapshotCache에서 만들므로 두 경우 모두 요청마다 version 조회 한 번만 실행한다.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:conditional-get;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ConditionalGetLoadTest {
+
+    private static final int POLLS = 200;
+    private static final String COMMENT =
+        "a comment long enough to push the response body over the compression threshold, repeated for every poll ";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCommentService postCommentService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Post post = new Post("polled post");
+        for (int i = 0; i < 10; i++) {
+            post.addComment(new Comment(COMMENT + i));
+            post.addTag(new Tag("tag" + i));
+        }
+        postId = postRepository.save(post).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+    }
+
+    @DisplayName("ETag가 일치하면 본문 없이 304로 응답하고, 본문은 캐시된 스냅샷으로 만든다.")
+    @Test
+    void pollWithEntityTag() {
+        ResponseEntity<byte[]> first = get(null);
+        String entityTag = first.getHeaders().getETag();
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(entityTag).isNotNull();
+
+        statistics.clear();
+        long unconditionalBytes = 0;
+        for (int i = 0; i < POLLS; i++) {
+            unconditionalBytes += get(null).getBody().length;
+        }
+        long unconditionalStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long conditionalBytes = 0;
+        for (int i = 0; i < POLLS; i++) {
+            ResponseEntity<byte[]> response = get(entityTag);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            conditionalBytes += response.getBody() == null ? 0 : response.getBody().length;
+        }
+        long conditionalStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("polls=%d unconditional=%dB/%d statements conditional=%dB/%d statements%n",
+            POLLS, unconditionalBytes, unconditionalStatements, conditionalBytes, conditionalStatements);
+
+        assertThat(conditionalBytes).isZero();
+        assertThat(conditionalStatements).isEqualTo(POLLS);
+        assertThat(unconditionalStatements).isEqualTo(POLLS);
+    }
+
+    @DisplayName("댓글이 추가되면 ETag가 바뀌어 새 본문을 받는다.")
+    @Test
+    void changeEntityTagAfterNewComment() {
+        String entityTag = get(null).getHeaders().getETag();
+
+        postCommentService.addComment(postId, "new comment");
+
+        ResponseEntity<byte[]> response = get(entityTag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(entityTag);
+    }
+
+    @DisplayName("벌크 연산으로 댓글 내용이 바뀌면 개수가 같아도 ETag가 바뀐다.")
+    @Test
+    void changeEntityTagAfterBulkRedact() {
+        String entityTag = get(null).getHeaders().getETag();
+
+        commentRepository.redactContentContaining("comment 0", "[redacted]");
+
+        ResponseEntity<byte[]> response = get(entityTag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(entityTag);
+    }
+
+    @DisplayName("태그 이름이 바뀌면 ETag가 바뀐다.")
+    @Test
+    void changeEntityTagAfterRename() {
+        String entityTag = get(null).getHeaders().getETag();
+
+        tagRepository.rename("tag0", "renamed");
+
+        ResponseEntity<byte[]> response = get(entityTag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(entityTag);
+    }
+
+    @DisplayName("gzip을 허용하면 압축된 본문을 받는다.")
+    @Test
+    void compressResponse() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        ResponseEntity<byte[]> response = restTemplate.exchange("/posts/" + postId, HttpMethod.GET,
+            new HttpEntity<>(headers), byte[].class);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getBody().length).isLessThan(get(null).getBody().length);
+    }
+
+    private ResponseEntity<byte[]> get(String entityTag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (entityTag != null) {
+            headers.setIfNoneMatch(entityTag);
+        }
+        return restTemplate.exchange("/posts/" + postId, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+}